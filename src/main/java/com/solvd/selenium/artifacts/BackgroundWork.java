@@ -0,0 +1,91 @@
+package com.solvd.selenium.artifacts;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.threads.Threads;
+
+/**
+ * Bounded pool of daemon threads for artifact work that must not hold up
+ * tear-down. When the queue is full the submitting thread runs the task
+ * itself, so slow disks throttle tests instead of growing memory. Workers are
+ * virtual threads with {@code threads.mode=virtual}; the pool still caps how
+ * many run at once.
+ */
+final class BackgroundWork {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundWork.class);
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param name          thread name prefix and label in log messages
+     * @param threads       worker threads
+     * @param queueCapacity tasks waiting for a worker before callers run them
+     */
+    BackgroundWork(String name, int threads, int queueCapacity) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), Threads.newFactory(name),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs a task in the background.
+     *
+     * @return the task's result, completed exceptionally if it threw
+     */
+    <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.add(result);
+        result.whenComplete((value, error) -> pending.remove(result));
+        executor.execute(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for every task submitted so far.
+     *
+     * @param timeout how long to wait at most
+     * @return true if nothing is left pending
+     */
+    boolean awaitPending(Duration timeout) {
+        CompletableFuture<?>[] inFlight = pending.toArray(new CompletableFuture<?>[0]);
+        if (inFlight.length == 0) {
+            return true;
+        }
+        logger.info("Waiting for {} pending {} task(s)", inFlight.length, name);
+        try {
+            CompletableFuture.allOf(inFlight).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Failures are reported by the submitters
+        } catch (TimeoutException e) {
+            logger.warn("{} {} task(s) still pending after {}s", pending.size(), name, timeout.getSeconds());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,154 @@
+package com.solvd.selenium.artifacts;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Most recent console messages and network requests of one Chrome session,
+ * fed from DevTools events. Bounded, so a long-lived pooled session holds at
+ * most the configured number of entries.
+ */
+class BrowserEventLog {
+
+    private final int maxConsoleEntries;
+    private final int maxNetworkEntries;
+    private final Deque<Map<String, Object>> console = new ArrayDeque<>();
+    private final LinkedHashMap<String, Map<String, Object>> requests;
+
+    BrowserEventLog(int maxConsoleEntries, int maxNetworkEntries) {
+        this.maxConsoleEntries = maxConsoleEntries;
+        this.maxNetworkEntries = maxNetworkEntries;
+        this.requests = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+                return size() > BrowserEventLog.this.maxNetworkEntries;
+            }
+        };
+    }
+
+    synchronized void clear() {
+        console.clear();
+        requests.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void onConsoleApiCalled(Map<String, Object> event) {
+        List<String> texts = new ArrayList<>();
+        for (Map<String, Object> arg : (List<Map<String, Object>>) event.getOrDefault("args", List.of())) {
+            Object value = arg.containsKey("value") ? arg.get("value") : arg.get("description");
+            texts.add(String.valueOf(value));
+        }
+        addConsole("console", String.valueOf(event.get("type")), String.join(" ", texts), null,
+                event.get("timestamp"));
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void onExceptionThrown(Map<String, Object> event) {
+        Map<String, Object> details = (Map<String, Object>) event.getOrDefault("exceptionDetails", Map.of());
+        Map<String, Object> exception = (Map<String, Object>) details.get("exception");
+        String text = exception != null && exception.get("description") != null
+                ? String.valueOf(exception.get("description"))
+                : String.valueOf(details.get("text"));
+        addConsole("exception", "error", text, (String) details.get("url"), event.get("timestamp"));
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void onLogEntryAdded(Map<String, Object> event) {
+        Map<String, Object> entry = (Map<String, Object>) event.getOrDefault("entry", Map.of());
+        addConsole(String.valueOf(entry.get("source")), String.valueOf(entry.get("level")),
+                String.valueOf(entry.get("text")), (String) entry.get("url"), entry.get("timestamp"));
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void onRequestWillBeSent(Map<String, Object> event) {
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("method", request.get("method"));
+        entry.put("url", request.get("url"));
+        entry.put("type", event.get("type"));
+        entry.put("wallTime", event.get("wallTime"));
+        entry.put("startTimestamp", event.get("timestamp"));
+        // A redirect reuses the request id; keep the hop that is still in flight
+        requests.remove((String) event.get("requestId"));
+        requests.put((String) event.get("requestId"), entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void onResponseReceived(Map<String, Object> event) {
+        Map<String, Object> entry = requests.get((String) event.get("requestId"));
+        if (entry == null) {
+            return;
+        }
+        Map<String, Object> response = (Map<String, Object>) event.get("response");
+        entry.put("status", response.get("status"));
+        entry.put("statusText", response.get("statusText"));
+        entry.put("mimeType", response.get("mimeType"));
+        entry.put("protocol", response.get("protocol"));
+    }
+
+    synchronized void onLoadingFinished(Map<String, Object> event) {
+        Map<String, Object> entry = requests.get((String) event.get("requestId"));
+        if (entry != null) {
+            entry.put("endTimestamp", event.get("timestamp"));
+            entry.put("encodedDataLength", event.get("encodedDataLength"));
+        }
+    }
+
+    synchronized void onLoadingFailed(Map<String, Object> event) {
+        Map<String, Object> entry = requests.get((String) event.get("requestId"));
+        if (entry != null) {
+            entry.put("endTimestamp", event.get("timestamp"));
+            entry.put("error", event.get("blockedReason") != null ? event.get("blockedReason") : event.get("errorText"));
+        }
+    }
+
+    synchronized List<Map<String, Object>> getConsole() {
+        return new ArrayList<>(console);
+    }
+
+    /**
+     * Recorded requests as HAR 1.2 entries, oldest first.
+     */
+    synchronized List<Map<String, Object>> getHarEntries() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Map<String, Object> request : requests.values()) {
+            double start = number(request.get("startTimestamp"));
+            double end = request.containsKey("endTimestamp") ? number(request.get("endTimestamp")) : start;
+            long wallMillis = (long) (number(request.get("wallTime")) * 1000);
+            entries.add(HarEntries.entry(Instant.ofEpochMilli(wallMillis),
+                    Math.max(0, (end - start) * 1000),
+                    String.valueOf(request.get("method")),
+                    String.valueOf(request.get("url")),
+                    request.get("status") == null ? 0 : (int) number(request.get("status")),
+                    request.get("statusText") == null ? "" : String.valueOf(request.get("statusText")),
+                    request.get("mimeType") == null ? "" : String.valueOf(request.get("mimeType")),
+                    request.get("encodedDataLength") == null ? -1 : (long) number(request.get("encodedDataLength")),
+                    (String) request.get("error")));
+        }
+        return entries;
+    }
+
+    private void addConsole(String source, String level, String text, String url, Object timestamp) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("source", source);
+        message.put("level", level);
+        message.put("text", text);
+        if (url != null) {
+            message.put("url", url);
+        }
+        message.put("timestamp", timestamp);
+        console.addLast(message);
+        while (console.size() > maxConsoleEntries) {
+            console.removeFirst();
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
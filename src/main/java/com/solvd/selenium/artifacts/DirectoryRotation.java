@@ -0,0 +1,95 @@
+package com.solvd.selenium.artifacts;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.threads.Threads;
+
+/**
+ * Empties an artifact directory in constant time: the directory is renamed
+ * aside as {@code <name>.run-<timestamp>} and a fresh one is created, while
+ * a background thread deletes rotated runs beyond the retention count.
+ */
+public final class DirectoryRotation {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectoryRotation.class);
+
+    private static final String RUN_SUFFIX = ".run-";
+
+    private DirectoryRotation() {
+    }
+
+    /**
+     * Moves the directory's content out of the way and schedules old runs for
+     * deletion. Falls back to cleaning in place if the directory cannot be
+     * renamed, e.g. because a file in it is locked.
+     *
+     * @param directory    directory to empty; created if missing
+     * @param retainedRuns previous runs to keep next to it, 0 to keep none
+     * @throws IOException if the directory can neither be rotated nor cleaned
+     */
+    public static void rotate(Path directory, int retainedRuns) throws IOException {
+        Path target = directory.toAbsolutePath().normalize();
+        if (Files.isDirectory(target) && !isEmpty(target)) {
+            Path rotated = target.resolveSibling(target.getFileName() + RUN_SUFFIX
+                    + new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date()));
+            try {
+                Files.move(target, rotated, StandardCopyOption.ATOMIC_MOVE);
+                logger.info("Moved previous run's {} aside to {}", target.getFileName(), rotated.getFileName());
+            } catch (IOException e) {
+                logger.warn("Could not move {} aside ({}), cleaning it in place", target, e.getMessage());
+                FileUtils.cleanDirectory(target.toFile());
+            }
+        }
+        Files.createDirectories(target);
+
+        Threads.newFactory("artifact-cleanup-" + target.getFileName())
+                .newThread(() -> deleteExpiredRuns(target, Math.max(0, retainedRuns)))
+                .start();
+    }
+
+    private static void deleteExpiredRuns(Path directory, int retainedRuns) {
+        String prefix = directory.getFileName() + RUN_SUFFIX;
+        List<Path> runs;
+        try (Stream<Path> siblings = Files.list(directory.getParent())) {
+            // Timestamped names sort oldest first
+            runs = siblings.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            logger.warn("Could not list previous runs of {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        for (Path run : runs.subList(0, Math.max(0, runs.size() - retainedRuns))) {
+            File runDirectory = run.toFile();
+            try {
+                FileUtils.deleteDirectory(runDirectory);
+                logger.debug("Deleted previous run {}", run);
+            } catch (IOException e) {
+                // Left for the next suite to retry
+                logger.warn("Could not delete previous run {}: {}", run, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+}
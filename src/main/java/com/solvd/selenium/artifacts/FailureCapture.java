@@ -0,0 +1,335 @@
+package com.solvd.selenium.artifacts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.timing.CommandTrace;
+import com.solvd.selenium.timing.StepSample;
+import com.solvd.selenium.timing.StepTimings;
+import com.solvd.selenium.utils.DriverUnwrapper;
+import com.solvd.selenium.utils.ScriptLoader;
+
+/**
+ * Collects what is needed to diagnose a failed test without re-running it
+ * and zips it into one bundle per failure: page source, console messages,
+ * the last network requests as HAR, the page-object steps and WebDriver
+ * commands of the test, the screenshot and the failure itself.
+ * <p>
+ * Chrome sessions record console and network events through DevTools from
+ * the moment they are {@link #attach attached}; other browsers report the
+ * page's resource timings instead and have no console log. Only the browser
+ * reads happen on the tear-down thread; compression and disk I/O run in the
+ * background. Every part is capped at {@code failure.bundle.max.entry.kb}
+ * and parts that would push a bundle over {@code failure.bundle.max.kb} are
+ * left out and listed in its metadata.
+ */
+public class FailureCapture {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailureCapture.class);
+
+    private static final String RESOURCE_TIMING_SCRIPT = ScriptLoader.load("/js/resource-timing.js");
+    private static final long SCREENSHOT_WAIT_SECONDS = 30;
+
+    private static final Event<Map<String, Object>> CONSOLE_API_CALLED = event("Runtime.consoleAPICalled");
+    private static final Event<Map<String, Object>> EXCEPTION_THROWN = event("Runtime.exceptionThrown");
+    private static final Event<Map<String, Object>> LOG_ENTRY_ADDED = event("Log.entryAdded");
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT = event("Network.requestWillBeSent");
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED = event("Network.responseReceived");
+    private static final Event<Map<String, Object>> LOADING_FINISHED = event("Network.loadingFinished");
+    private static final Event<Map<String, Object>> LOADING_FAILED = event("Network.loadingFailed");
+
+    private static FailureCapture instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final boolean enabled;
+    private final Path directory;
+    private final int consoleEntries;
+    private final int networkEntries;
+    private final int maxEntryBytes;
+    private final long maxBundleBytes;
+    private final BackgroundWork work;
+    private final Map<WebDriver, BrowserEventLog> sessionLogs = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Private constructor for singleton pattern
+    private FailureCapture() {
+        this.enabled = config.isFailureBundleEnabled();
+        this.directory = Paths.get(config.getFailureBundleDirectory());
+        this.consoleEntries = config.getFailureBundleConsoleEntries();
+        this.networkEntries = config.getFailureBundleNetworkEntries();
+        this.maxEntryBytes = config.getFailureBundleMaxEntryKb() * 1024;
+        this.maxBundleBytes = config.getFailureBundleMaxKb() * 1024L;
+        this.work = new BackgroundWork("failure-bundle", 1, 8);
+    }
+
+    /**
+     * Get singleton instance of FailureCapture
+     */
+    public static FailureCapture getInstance() {
+        if (instance == null) {
+            synchronized (FailureCapture.class) {
+                if (instance == null) {
+                    instance = new FailureCapture();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Starts recording console and network events of a new Chrome session.
+     * Other sessions are left alone.
+     *
+     * @param driver newly started session
+     */
+    public void attach(WebDriver driver) {
+        if (!enabled || !(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        BrowserEventLog log = new BrowserEventLog(consoleEntries, networkEntries);
+        DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(CONSOLE_API_CALLED, log::onConsoleApiCalled);
+        devTools.addListener(EXCEPTION_THROWN, log::onExceptionThrown);
+        devTools.addListener(LOG_ENTRY_ADDED, log::onLogEntryAdded);
+        devTools.addListener(REQUEST_WILL_BE_SENT, log::onRequestWillBeSent);
+        devTools.addListener(RESPONSE_RECEIVED, log::onResponseReceived);
+        devTools.addListener(LOADING_FINISHED, log::onLoadingFinished);
+        devTools.addListener(LOADING_FAILED, log::onLoadingFailed);
+        devTools.send(new Command<>("Runtime.enable", Map.of()));
+        devTools.send(new Command<>("Log.enable", Map.of()));
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        sessionLogs.put(driver, log);
+    }
+
+    /**
+     * Forgets events recorded before a test starts, e.g. by the previous test
+     * on a pooled session.
+     */
+    public void markTestStart(WebDriver driver) {
+        BrowserEventLog log = sessionLogs.get(DriverUnwrapper.unwrap(driver));
+        if (log != null) {
+            log.clear();
+        }
+    }
+
+    /**
+     * Reads the failure state from the browser and writes the bundle in the
+     * background. Call before the session is released.
+     *
+     * @param driver     session the test failed in
+     * @param test       test name, used in the bundle file name
+     * @param browser    browser name
+     * @param failure    what the test failed with, may be null
+     * @param steps      page-object steps of the test, may be null
+     * @param trace      WebDriver commands of the test, may be null
+     * @param screenshot screenshot being stored for the failure, may be null
+     * @return the bundle file, completed exceptionally if writing failed
+     */
+    public CompletableFuture<Path> capture(WebDriver driver, String test, String browser, Throwable failure,
+            StepTimings steps, CommandTrace trace, CompletableFuture<Path> screenshot) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("test", test);
+        metadata.put("browser", browser);
+        metadata.put("capturedAt", Instant.now().toString());
+        metadata.put("url", read(driver::getCurrentUrl));
+        metadata.put("title", read(driver::getTitle));
+        if (failure != null) {
+            metadata.put("failure", failure.toString());
+            metadata.put("stackTrace", stackTrace(failure));
+        }
+
+        // Browser reads stay on this thread, the session is released right after
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        if (steps != null) {
+            parts.put("steps.json", json(steps.getSamples().stream().map(StepSample::toJson)
+                    .collect(Collectors.toList())));
+        }
+        BrowserEventLog log = sessionLogs.get(DriverUnwrapper.unwrap(driver));
+        parts.put("console.json", json(log != null ? log.getConsole()
+                : Map.of("available", false, "reason", "console messages are only recorded for Chrome sessions")));
+        parts.put("network.har", json(log != null ? HarEntries.log(log.getHarEntries(), "devtools")
+                : HarEntries.log(readResourceTimings(driver), "resource-timing")));
+        if (trace != null) {
+            parts.put("commands.json", json(trace.toJson()));
+        }
+        String pageSource = read(driver::getPageSource);
+        if (pageSource != null) {
+            parts.put("page.html", pageSource.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        Path bundle = directory.resolve(String.format("%s_%s_%s.zip", test, browser, timestamp));
+        CompletableFuture<Path> result = work.submit(() -> write(bundle, metadata, parts, screenshot));
+        result.whenComplete((path, error) -> {
+            if (error != null) {
+                logger.error("Failed to write failure bundle for {}: {}", test, error.getMessage(), error);
+            } else {
+                logger.info("Failure bundle saved to: {}", path.toAbsolutePath());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for bundles still being written.
+     *
+     * @return true if nothing is left pending
+     */
+    public boolean awaitPending(Duration timeout) {
+        return work.awaitPending(timeout);
+    }
+
+    private Path write(Path bundle, Map<String, Object> metadata, Map<String, byte[]> parts,
+            CompletableFuture<Path> screenshot) throws IOException {
+        if (screenshot != null) {
+            try {
+                Path screenshotFile = screenshot.get(SCREENSHOT_WAIT_SECONDS, TimeUnit.SECONDS);
+                String name = screenshotFile.getFileName().toString();
+                parts.put("screenshot" + name.substring(name.lastIndexOf('.')), Files.readAllBytes(screenshotFile));
+            } catch (Exception e) {
+                metadata.put("screenshotError", e.toString());
+            }
+        }
+
+        ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+        List<String> truncated = new ArrayList<>();
+        List<String> omitted = new ArrayList<>();
+        long total = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(zipped)) {
+            for (Map.Entry<String, byte[]> part : parts.entrySet()) {
+                byte[] content = part.getValue();
+                if (content.length > maxEntryBytes) {
+                    if (part.getKey().startsWith("screenshot")) {
+                        omitted.add(part.getKey());
+                        continue;
+                    }
+                    content = truncate(content);
+                    truncated.add(part.getKey());
+                }
+                if (total + content.length > maxBundleBytes) {
+                    omitted.add(part.getKey());
+                    continue;
+                }
+                total += content.length;
+                addEntry(zip, part.getKey(), content);
+            }
+            metadata.put("truncated", truncated);
+            metadata.put("omitted", omitted);
+            addEntry(zip, "metadata.json", json(metadata));
+        }
+
+        Files.createDirectories(bundle.getParent());
+        Path temp = Files.createTempFile(bundle.getParent(), bundle.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, zipped.toByteArray());
+            Files.move(temp, bundle, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return bundle;
+    }
+
+    private byte[] truncate(byte[] content) {
+        byte[] marker = "\n... truncated by failure.bundle.max.entry.kb\n".getBytes(StandardCharsets.UTF_8);
+        byte[] result = new byte[maxEntryBytes];
+        int keep = Math.max(0, maxEntryBytes - marker.length);
+        System.arraycopy(content, 0, result, 0, keep);
+        System.arraycopy(marker, 0, result, keep, Math.min(marker.length, maxEntryBytes));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readResourceTimings(WebDriver driver) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        try {
+            Map<String, Object> timings = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(RESOURCE_TIMING_SCRIPT, networkEntries);
+            double timeOrigin = ((Number) timings.get("timeOrigin")).doubleValue();
+            for (Map<String, Object> timing : (List<Map<String, Object>>) timings.get("entries")) {
+                double startTime = ((Number) timing.get("startTime")).doubleValue();
+                Map<String, Object> entry = HarEntries.entry(
+                        Instant.ofEpochMilli((long) (timeOrigin + startTime)),
+                        ((Number) timing.get("duration")).doubleValue(),
+                        "", String.valueOf(timing.get("url")),
+                        ((Number) timing.get("status")).intValue(), "", "",
+                        ((Number) timing.get("transferSize")).longValue(), null);
+                entry.put("_initiatorType", timing.get("type"));
+                entries.add(entry);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not read resource timings: {}", e.getMessage());
+        }
+        return entries;
+    }
+
+    private static String read(Supplier<String> reader) {
+        try {
+            return reader.get();
+        } catch (RuntimeException e) {
+            logger.warn("Could not read page state for failure bundle: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter writer = new StringWriter();
+        failure.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static byte[] json(Object value) {
+        return new Json().toJson(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+}
@@ -0,0 +1,65 @@
+package com.solvd.selenium.artifacts;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the parts of a HAR 1.2 log the failure bundle needs. Headers,
+ * cookies and bodies are left out: they are large and may hold credentials.
+ */
+final class HarEntries {
+
+    private HarEntries() {
+    }
+
+    static Map<String, Object> log(List<Map<String, Object>> entries, String source) {
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", Map.of("name", "selenium-testng-project", "version", "1.0", "comment", source));
+        log.put("pages", List.of());
+        log.put("entries", entries);
+        return Map.of("log", log);
+    }
+
+    /**
+     * @param bodySize transferred bytes, or -1 if unknown
+     * @param error    why the request failed, or null
+     */
+    static Map<String, Object> entry(Instant started, double timeMillis, String method, String url, int status,
+            String statusText, String mimeType, long bodySize, String error) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("method", method);
+        request.put("url", url);
+        request.put("httpVersion", "");
+        request.put("cookies", List.of());
+        request.put("headers", List.of());
+        request.put("queryString", List.of());
+        request.put("headersSize", -1);
+        request.put("bodySize", -1);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", status);
+        response.put("statusText", statusText);
+        response.put("httpVersion", "");
+        response.put("cookies", List.of());
+        response.put("headers", List.of());
+        response.put("content", Map.of("size", Math.max(bodySize, 0), "mimeType", mimeType));
+        response.put("redirectURL", "");
+        response.put("headersSize", -1);
+        response.put("bodySize", bodySize);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("startedDateTime", started.toString());
+        entry.put("time", timeMillis);
+        entry.put("request", request);
+        entry.put("response", response);
+        entry.put("cache", Map.of());
+        entry.put("timings", Map.of("send", 0, "wait", timeMillis, "receive", 0));
+        if (error != null) {
+            entry.put("_error", error);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,56 @@
+package com.solvd.selenium.artifacts;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash ("dHash") of an image: the image is averaged down to
+ * 9x8 grey cells and each bit records whether a cell is brighter than its
+ * right neighbour. Screenshots of the same page state that differ only in a
+ * caret, an animation frame or anti-aliasing end up a few bits apart.
+ */
+final class PerceptualHash {
+
+    private static final int COLUMNS = 9;
+    private static final int ROWS = 8;
+
+    private PerceptualHash() {
+    }
+
+    static long of(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[] sums = new double[COLUMNS * ROWS];
+        long[] counts = new long[COLUMNS * ROWS];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int cellRow = y * ROWS / height;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int cell = cellRow * COLUMNS + x * COLUMNS / width;
+                sums[cell] += 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int cellRow = 0; cellRow < ROWS; cellRow++) {
+            for (int column = 0; column < COLUMNS - 1; column++) {
+                int cell = cellRow * COLUMNS + column;
+                hash = (hash << 1) | (brightness(sums, counts, cell) > brightness(sums, counts, cell + 1) ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Number of differing bits, 0 for identical hashes and at most 64.
+     */
+    static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private static double brightness(double[] sums, long[] counts, int cell) {
+        return counts[cell] == 0 ? 0 : sums[cell] / counts[cell];
+    }
+}
@@ -0,0 +1,55 @@
+package com.solvd.selenium.artifacts;
+
+/**
+ * How screenshots are encoded on disk.
+ */
+public enum ScreenshotFormat {
+
+    /**
+     * The PNG bytes the browser returned, written without re-encoding.
+     */
+    PNG("png", "png"),
+
+    /**
+     * PNG re-encoded at maximum deflate compression; smaller files for some
+     * CPU time on the writer threads.
+     */
+    PNG_COMPRESSED("png-compressed", "png"),
+
+    /**
+     * Lossy JPEG at {@code screenshot.jpeg.quality}, the smallest option.
+     */
+    JPEG("jpeg", "jpg");
+
+    private final String configValue;
+    private final String extension;
+
+    ScreenshotFormat(String configValue, String extension) {
+        this.configValue = configValue;
+        this.extension = extension;
+    }
+
+    /**
+     * File extension without the dot, e.g. "png".
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses the {@code screenshot.format} configuration value.
+     *
+     * @param value configuration value, e.g. "jpeg"
+     * @return matching format
+     * @throws RuntimeException if the value is not a known format
+     */
+    public static ScreenshotFormat fromConfigValue(String value) {
+        for (ScreenshotFormat format : values()) {
+            if (format.configValue.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new RuntimeException(
+                "Unknown screenshot format '" + value + "', expected 'png', 'png-compressed' or 'jpeg'");
+    }
+}
@@ -0,0 +1,193 @@
+package com.solvd.selenium.artifacts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * Index of a content-addressed screenshot directory: distinct images are
+ * stored once under {@code blobs/<sha256>.<ext>}, and {@code index.json}
+ * maps every captured screenshot (test, browser, time) to its blob file name.
+ */
+public class ScreenshotIndex {
+
+    public static final String INDEX_FILE = "index.json";
+
+    public static final String BLOB_DIRECTORY = "blobs";
+
+    /**
+     * How a screenshot was matched to its blob.
+     */
+    public enum Match {
+        /** First screenshot of this image, stored as a new blob. */
+        NEW,
+        /** Byte-identical to a stored blob. */
+        EXACT,
+        /** Within the perceptual-hash distance of a stored blob. */
+        SIMILAR
+    }
+
+    private final Path directory;
+    private final Map<String, Blob> blobsBySha = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<String>> claims = new LinkedHashMap<>();
+    private final List<Map<String, Object>> entries = new ArrayList<>();
+
+    ScreenshotIndex(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Claims storing an image with this content hash.
+     *
+     * @return null if the caller is the first and must store the image and
+     *         then call {@link #addBlob}, otherwise the name of the blob the
+     *         first caller stores, completed once it is in place
+     */
+    synchronized CompletableFuture<String> claim(String sha256) {
+        CompletableFuture<String> existing = claims.get(sha256);
+        if (existing != null) {
+            return existing;
+        }
+        claims.put(sha256, new CompletableFuture<>());
+        return null;
+    }
+
+    /**
+     * Releases a claim whose image could not be stored, so a later screenshot
+     * of the same image tries again.
+     */
+    synchronized void abandon(String sha256, Throwable cause) {
+        CompletableFuture<String> claim = claims.remove(sha256);
+        if (claim != null) {
+            claim.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Closest stored blob within {@code maxDistance} bits of the given hash.
+     *
+     * @return blob path and distance, if any blob is close enough
+     */
+    synchronized Optional<Map.Entry<String, Integer>> findSimilar(long perceptualHash, int maxDistance) {
+        Map.Entry<String, Integer> closest = null;
+        for (Blob blob : blobsBySha.values()) {
+            if (blob.perceptualHash == null) {
+                continue;
+            }
+            int distance = PerceptualHash.distance(blob.perceptualHash, perceptualHash);
+            if (distance <= maxDistance && (closest == null || distance < closest.getValue())) {
+                closest = Map.entry(blob.name, distance);
+            }
+        }
+        return Optional.ofNullable(closest);
+    }
+
+    /**
+     * Registers a stored blob and completes the claim on its content hash.
+     *
+     * @param sha256         content hash of the captured image
+     * @param name           blob file name, see {@link #resolve}
+     * @param perceptualHash perceptual hash, or null if not computed
+     */
+    synchronized void addBlob(String sha256, String name, Long perceptualHash) {
+        if (perceptualHash != null || !blobsBySha.containsKey(sha256)) {
+            blobsBySha.put(sha256, new Blob(name, perceptualHash));
+        }
+        claims.computeIfAbsent(sha256, key -> new CompletableFuture<>()).complete(name);
+    }
+
+    /**
+     * Path of a blob in this directory.
+     */
+    public Path resolve(String blobName) {
+        return directory.resolve(BLOB_DIRECTORY).resolve(blobName);
+    }
+
+    /**
+     * Records a captured screenshot and rewrites {@code index.json}.
+     *
+     * @throws IOException if the index cannot be written
+     */
+    synchronized void addEntry(String test, String browser, String blobName, Match match, int distance)
+            throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("test", test);
+        entry.put("browser", browser);
+        entry.put("capturedAt", Instant.now().toString());
+        entry.put("blob", blobName);
+        entry.put("match", match.name().toLowerCase());
+        if (match == Match.SIMILAR) {
+            entry.put("distance", distance);
+        }
+        entries.add(entry);
+        write();
+    }
+
+    /**
+     * Captured screenshots in capture order.
+     */
+    public synchronized List<Map<String, Object>> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Blob of the latest screenshot captured for a test.
+     *
+     * @param test test name as passed when the screenshot was taken
+     */
+    public synchronized Optional<Path> findLatest(String test) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (test.equals(entries.get(i).get("test"))) {
+                return Optional.of(resolve((String) entries.get(i).get("blob")));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized int getBlobCount() {
+        return blobsBySha.size();
+    }
+
+    private void write() throws IOException {
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("screenshots", entries.size());
+        index.put("blobs", blobsBySha.size());
+        index.put("entries", entries);
+
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+        try {
+            Files.write(temp, new Json().toJson(index).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static final class Blob {
+        private final String name;
+        private final Long perceptualHash;
+
+        Blob(String name, Long perceptualHash) {
+            this.name = name;
+            this.perceptualHash = perceptualHash;
+        }
+    }
+}
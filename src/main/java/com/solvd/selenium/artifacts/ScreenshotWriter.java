@@ -0,0 +1,275 @@
+package com.solvd.selenium.artifacts;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Stores screenshots on a small background pool, so tear-down only pays for
+ * the capture itself. The queue is bounded: when writers fall behind, the
+ * submitting thread stores the screenshot itself.
+ * <p>
+ * Storage is content-addressed through a {@link ScreenshotIndex}: identical
+ * screenshots, such as dozens of tests failing on the same broken page, share
+ * one blob, and with {@code screenshot.dedup.similar.enabled} so do
+ * near-identical ones. Files are written to a temporary name and moved into
+ * place, so a reader never sees a partial screenshot. Call
+ * {@link #awaitPending} before the JVM may exit.
+ */
+public class ScreenshotWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotWriter.class);
+
+    private static ScreenshotWriter instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final ScreenshotFormat format;
+    private final float jpegQuality;
+    private final boolean similarDedup;
+    private final int similarMaxDistance;
+    private final BackgroundWork work;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger deduplicated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile ScreenshotIndex index;
+
+    // Private constructor for singleton pattern
+    private ScreenshotWriter() {
+        this.format = config.getScreenshotFormat();
+        this.jpegQuality = Math.max(1, Math.min(100, config.getScreenshotJpegQuality())) / 100f;
+        this.similarDedup = config.isScreenshotSimilarDedupEnabled();
+        this.similarMaxDistance = config.getScreenshotSimilarMaxDistance();
+        this.index = new ScreenshotIndex(Paths.get(config.getScreenshotDirectory()));
+        this.work = new BackgroundWork("screenshot-writer", config.getScreenshotWriterThreads(),
+                config.getScreenshotWriterQueueCapacity());
+    }
+
+    /**
+     * Get singleton instance of ScreenshotWriter
+     */
+    public static ScreenshotWriter getInstance() {
+        if (instance == null) {
+            synchronized (ScreenshotWriter.class) {
+                if (instance == null) {
+                    instance = new ScreenshotWriter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public ScreenshotFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Index of the screenshot directory for the current suite.
+     */
+    public ScreenshotIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Starts a new, empty index, e.g. after the screenshot directory was
+     * cleaned.
+     */
+    public void resetIndex() {
+        index = new ScreenshotIndex(Paths.get(config.getScreenshotDirectory()));
+    }
+
+    /**
+     * Queues a screenshot for storage.
+     *
+     * @param png     PNG bytes as returned by the browser
+     * @param test    test the screenshot belongs to
+     * @param browser browser it was taken in
+     * @return the blob holding the image, completed exceptionally if storing
+     *         failed
+     */
+    public CompletableFuture<Path> submit(byte[] png, String test, String browser) {
+        ScreenshotIndex targetIndex = index;
+        CompletableFuture<Path> result = work.submit(() -> store(targetIndex, png, test, browser));
+        result.whenComplete((path, error) -> {
+            if (error != null) {
+                failed.incrementAndGet();
+                logger.error("Failed to store screenshot of {}: {}", test, error.getMessage(), error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for every screenshot submitted so far to be stored.
+     *
+     * @param timeout how long to wait at most
+     * @return true if nothing is left pending
+     */
+    public boolean awaitPending(Duration timeout) {
+        return work.awaitPending(timeout);
+    }
+
+    public int getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Screenshots stored as a reference to an existing blob.
+     */
+    public int getDeduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    private Path store(ScreenshotIndex targetIndex, byte[] png, String test, String browser) throws IOException {
+        String sha256 = sha256(png);
+        CompletableFuture<String> stored = targetIndex.claim(sha256);
+        if (stored != null) {
+            String blob = stored.join();
+            deduplicated.incrementAndGet();
+            targetIndex.addEntry(test, browser, blob, ScreenshotIndex.Match.EXACT, 0);
+            logger.info("Screenshot of {} identical to {}", test, blob);
+            return targetIndex.resolve(blob);
+        }
+
+        try {
+            BufferedImage image = format == ScreenshotFormat.PNG && !similarDedup ? null : decode(png);
+            Long perceptualHash = similarDedup ? PerceptualHash.of(image) : null;
+            if (perceptualHash != null) {
+                Optional<Map.Entry<String, Integer>> similar = targetIndex.findSimilar(perceptualHash,
+                        similarMaxDistance);
+                if (similar.isPresent()) {
+                    String blob = similar.get().getKey();
+                    deduplicated.incrementAndGet();
+                    targetIndex.addBlob(sha256, blob, null);
+                    targetIndex.addEntry(test, browser, blob, ScreenshotIndex.Match.SIMILAR,
+                            similar.get().getValue());
+                    logger.info("Screenshot of {} near-identical to {} (distance {})", test, blob,
+                            similar.get().getValue());
+                    return targetIndex.resolve(blob);
+                }
+            }
+
+            String blob = sha256 + "." + format.getExtension();
+            Path target = write(encode(png, image), targetIndex.resolve(blob));
+            targetIndex.addBlob(sha256, blob, perceptualHash);
+            targetIndex.addEntry(test, browser, blob, ScreenshotIndex.Match.NEW, 0);
+            return target;
+        } catch (IOException | RuntimeException e) {
+            targetIndex.abandon(sha256, e);
+            throw e;
+        }
+    }
+
+    private Path write(byte[] encoded, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, encoded);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        written.incrementAndGet();
+        bytesWritten.addAndGet(encoded.length);
+        logger.info("Screenshot saved to: {}", target.toAbsolutePath());
+        return target;
+    }
+
+    private byte[] encode(byte[] png, BufferedImage image) throws IOException {
+        if (format == ScreenshotFormat.PNG) {
+            return png;
+        }
+        if (format == ScreenshotFormat.JPEG) {
+            return writeImage(withoutAlpha(image), "jpeg", jpegQuality);
+        }
+        // Lowest quality means strongest deflate for the lossless PNG writer
+        byte[] compressed = writeImage(image, "png", 0f);
+        return compressed.length < png.length ? compressed : png;
+    }
+
+    private static BufferedImage decode(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable PNG");
+        }
+        return image;
+    }
+
+    private static byte[] writeImage(BufferedImage image, String formatName, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(formatName).next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static BufferedImage withoutAlpha(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
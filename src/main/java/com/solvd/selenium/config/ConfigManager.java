@@ -1,11 +1,21 @@
 package com.solvd.selenium.config;
 
+import com.solvd.selenium.artifacts.ScreenshotFormat;
+import com.solvd.selenium.driver.BrowserProfile;
+import com.solvd.selenium.listeners.BreakerMode;
+import com.solvd.selenium.network.NetworkMode;
+import com.solvd.selenium.shard.Shard;
+import com.solvd.selenium.threads.ThreadMode;
+import com.solvd.selenium.waits.WaitBackend;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 /**
  * Configuration manager for loading and accessing test configuration properties
@@ -39,7 +49,8 @@ public class ConfigManager {
     }
 
     /**
-     * Load configuration from config.properties file
+     * Load configuration from config.properties file. A system property with
+     * the same key, e.g. {@code -Dbase.url=...}, overrides the file's value.
      */
     private void loadConfiguration() {
         try (InputStream input = ConfigManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
@@ -47,6 +58,13 @@ public class ConfigManager {
                 throw new RuntimeException("Configuration file '" + CONFIG_FILE + "' not found in classpath");
             }
             properties.load(input);
+            for (String key : properties.stringPropertyNames()) {
+                String override = System.getProperty(key);
+                if (override != null) {
+                    properties.setProperty(key, override);
+                    logger.info("Configuration property '{}' overridden by system property", key);
+                }
+            }
             logger.info("Configuration loaded successfully from {}", CONFIG_FILE);
         } catch (IOException e) {
             throw new RuntimeException("Error loading configuration file: " + e.getMessage(), e);
@@ -98,6 +116,20 @@ public class ConfigManager {
         return Boolean.parseBoolean(value);
     }
 
+    /**
+     * Get configuration property as a comma-separated list
+     * 
+     * @param key Property key
+     * @return Trimmed, non-empty list entries
+     * @throws RuntimeException if property is not found or empty
+     */
+    public List<String> getListProperty(String key) {
+        return Arrays.stream(getProperty(key).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Check if property exists and is not empty
      * 
@@ -123,10 +155,78 @@ public class ConfigManager {
         return getIntProperty("page.load.timeout.seconds");
     }
 
+    public WaitBackend getWaitBackend() {
+        return WaitBackend.fromConfigValue(getProperty("wait.backend"));
+    }
+
+    public int getWaitEventSliceMillis() {
+        return getIntProperty("wait.event.slice.millis");
+    }
+
+    public int getWaitProbeSeconds() {
+        return getIntProperty("wait.probe.seconds");
+    }
+
     public String getScreenshotDirectory() {
         return getProperty("screenshot.directory");
     }
 
+    public ScreenshotFormat getScreenshotFormat() {
+        return ScreenshotFormat.fromConfigValue(getProperty("screenshot.format"));
+    }
+
+    public int getScreenshotJpegQuality() {
+        return getIntProperty("screenshot.jpeg.quality");
+    }
+
+    public int getScreenshotWriterThreads() {
+        return getIntProperty("screenshot.writer.threads");
+    }
+
+    public int getScreenshotWriterQueueCapacity() {
+        return getIntProperty("screenshot.writer.queue.capacity");
+    }
+
+    public boolean isScreenshotBackgroundCleanupEnabled() {
+        return getBooleanProperty("screenshot.cleanup.background");
+    }
+
+    public int getScreenshotRetainedRuns() {
+        return getIntProperty("screenshot.retained.runs");
+    }
+
+    public boolean isScreenshotSimilarDedupEnabled() {
+        return getBooleanProperty("screenshot.dedup.similar.enabled");
+    }
+
+    public int getScreenshotSimilarMaxDistance() {
+        return getIntProperty("screenshot.dedup.similar.max.distance");
+    }
+
+    public boolean isFailureBundleEnabled() {
+        return getBooleanProperty("failure.bundle.enabled");
+    }
+
+    public String getFailureBundleDirectory() {
+        return getProperty("failure.bundle.directory");
+    }
+
+    public int getFailureBundleConsoleEntries() {
+        return getIntProperty("failure.bundle.console.entries");
+    }
+
+    public int getFailureBundleNetworkEntries() {
+        return getIntProperty("failure.bundle.network.entries");
+    }
+
+    public int getFailureBundleMaxEntryKb() {
+        return getIntProperty("failure.bundle.max.entry.kb");
+    }
+
+    public int getFailureBundleMaxKb() {
+        return getIntProperty("failure.bundle.max.kb");
+    }
+
     public String getBaseUrl() {
         return getProperty("base.url");
     }
@@ -151,10 +251,166 @@ public class ConfigManager {
         return getIntProperty("window.height");
     }
 
+    public BrowserProfile getBrowserProfile() {
+        return BrowserProfile.fromConfigValue(getProperty("browser.profile"));
+    }
+
+    public boolean isBrowserProfileMetricsEnabled() {
+        return getBooleanProperty("browser.profile.metrics.enabled");
+    }
+
     public boolean isScreenshotOnFailureEnabled() {
         return getBooleanProperty("screenshot.on.failure");
     }
 
+    public boolean isDriverPoolEnabled() {
+        return getBooleanProperty("driver.pool.enabled");
+    }
+
+    public int getDriverPoolMaxSessions() {
+        return getIntProperty("driver.pool.max.sessions");
+    }
+
+    public int getDriverPoolPrewarmSize() {
+        return getIntProperty("driver.pool.prewarm.size");
+    }
+
+    public int getDriverPoolMaxReuse() {
+        return getIntProperty("driver.pool.max.reuse");
+    }
+
+    public int getDriverPoolLeaseTimeoutSeconds() {
+        return getIntProperty("driver.pool.lease.timeout.seconds");
+    }
+
+    public boolean isDriverBinaryOfflineEnabled() {
+        return getBooleanProperty("driver.binary.offline");
+    }
+
+    public String getDriverBinaryCacheFile() {
+        return getProperty("driver.binary.cache.file");
+    }
+
+    public int getDriverBinaryCacheTtlHours() {
+        return getIntProperty("driver.binary.cache.ttl.hours");
+    }
+
+    public boolean isFixtureServerEnabled() {
+        return getBooleanProperty("fixture.server.enabled");
+    }
+
+    public int getFixtureServerPort() {
+        return getIntProperty("fixture.server.port");
+    }
+
+    public NetworkMode getNetworkMode() {
+        return NetworkMode.fromConfigValue(getProperty("network.mode"));
+    }
+
+    public String getNetworkArchiveDirectory() {
+        return getProperty("network.archive.directory");
+    }
+
+    public List<String> getNetworkArchiveExcludePatterns() {
+        return getListProperty("network.archive.exclude.patterns");
+    }
+
+    public int getNetworkProxyPort() {
+        return getIntProperty("network.proxy.port");
+    }
+
+    public boolean isNetworkBlockEnabled() {
+        return getBooleanProperty("network.block.enabled");
+    }
+
+    public List<String> getNetworkBlockPatterns() {
+        return getListProperty("network.block.patterns");
+    }
+
+    public List<String> getNetworkAllowPatterns() {
+        return getListProperty("network.allow.patterns");
+    }
+
+    public boolean isConsentBootstrapEnabled() {
+        return getBooleanProperty("consent.bootstrap.enabled");
+    }
+
+    public String getConsentCacheDirectory() {
+        return getProperty("consent.cache.directory");
+    }
+
+    public List<String> getConsentCookieNames() {
+        return getListProperty("consent.cookie.names");
+    }
+
+    public boolean isNavigationDeepLinkEnabled() {
+        return getBooleanProperty("navigation.deep.link.enabled");
+    }
+
+    public String getNavigationUrlCacheFile() {
+        return getProperty("navigation.url.cache.file");
+    }
+
+    public boolean isStepTimingEnabled() {
+        return getBooleanProperty("timing.steps.enabled");
+    }
+
+    public boolean isCircuitBreakerEnabled() {
+        return getBooleanProperty("circuit.breaker.enabled");
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return getIntProperty("circuit.breaker.failure.threshold");
+    }
+
+    public BreakerMode getCircuitBreakerMode() {
+        return BreakerMode.fromConfigValue(getProperty("circuit.breaker.mode"));
+    }
+
+    public String getCircuitBreakerHistoryFile() {
+        return getProperty("circuit.breaker.history.file");
+    }
+
+    public boolean isSchedulerEnabled() {
+        return getBooleanProperty("scheduler.enabled");
+    }
+
+    public String getSchedulerHistoryFile() {
+        return getProperty("scheduler.history.file");
+    }
+
+    public Shard getShard() {
+        return Shard.fromConfigValue(getProperty("shard"));
+    }
+
+    public boolean isShardWeighted() {
+        return getBooleanProperty("shard.weighted");
+    }
+
+    public boolean isCommandTracingEnabled() {
+        return getBooleanProperty("trace.commands.enabled");
+    }
+
+    public String getCommandTraceDirectory() {
+        return getProperty("trace.commands.directory");
+    }
+
+    public boolean isJfrRecordingEnabled() {
+        return getBooleanProperty("jfr.recording.enabled");
+    }
+
+    public String getJfrRecordingFile() {
+        return getProperty("jfr.recording.file");
+    }
+
+    public String getJfrRecordingSettings() {
+        return getProperty("jfr.recording.settings");
+    }
+
+    public ThreadMode getThreadMode() {
+        return ThreadMode.fromConfigValue(getProperty("threads.mode"));
+    }
+
     /**
      * Get all properties (for debugging purposes)
      */
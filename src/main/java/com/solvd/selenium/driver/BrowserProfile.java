@@ -0,0 +1,60 @@
+package com.solvd.selenium.driver;
+
+/**
+ * Named set of browser launch options, traded between fidelity and the time
+ * and memory a session costs. Chosen by {@code browser.profile} or a suite's
+ * {@code browserProfile} parameter; {@link BrowserProfileMetrics} records
+ * what each profile actually costs.
+ */
+public enum BrowserProfile {
+
+    /**
+     * Visible browser window, maximized on start. Closest to what a user sees.
+     */
+    HEADED("headed"),
+
+    /**
+     * Chrome's new headless mode (full browser, no window) or headless
+     * Firefox, with a fixed {@code window.width} x {@code window.height}
+     * viewport instead of maximizing.
+     */
+    HEADLESS_NEW("headless-new"),
+
+    /**
+     * Headless with images, web fonts, animations and first-run work
+     * disabled. Cheapest to start and run, but pages no longer render their
+     * images or custom fonts.
+     */
+    REDUCED_RESOURCES("reduced-resources");
+
+    private final String configValue;
+
+    BrowserProfile(String configValue) {
+        this.configValue = configValue;
+    }
+
+    public String getConfigValue() {
+        return configValue;
+    }
+
+    public boolean isHeadless() {
+        return this != HEADED;
+    }
+
+    /**
+     * Parses the {@code browser.profile} configuration value.
+     *
+     * @param value configuration value, e.g. "headless-new"
+     * @return matching profile
+     * @throws RuntimeException if the value is not a known profile
+     */
+    public static BrowserProfile fromConfigValue(String value) {
+        for (BrowserProfile profile : values()) {
+            if (profile.configValue.equalsIgnoreCase(value)) {
+                return profile;
+            }
+        }
+        throw new RuntimeException("Unknown browser profile '" + value
+                + "', expected 'headed', 'headless-new' or 'reduced-resources'");
+    }
+}
@@ -0,0 +1,215 @@
+package com.solvd.selenium.driver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Startup time and memory of browser sessions per {@link BrowserProfile}.
+ * {@link DriverFactory} records how long every session took to start; tests
+ * call {@link #sampleMemory} when they end.
+ * <p>
+ * Memory is read from {@code /proc}, so it is only known for local sessions
+ * on Linux. A sample is the sum of the high-water marks (VmHWM) of the
+ * browser process and its children, found through Firefox's
+ * {@code moz:processID} capability or Chrome's user data directory.
+ */
+public class BrowserProfileMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfileMetrics.class);
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private static BrowserProfileMetrics instance;
+
+    private final boolean enabled;
+    private final boolean memoryReadable;
+    private final Map<BrowserProfile, Counters> counters = new ConcurrentHashMap<>();
+    // Weak keys so sessions quit anywhere, pooled or not, need no bookkeeping here
+    private final Map<WebDriver, Session> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Private constructor for singleton pattern
+    private BrowserProfileMetrics() {
+        this.enabled = ConfigManager.getInstance().isBrowserProfileMetricsEnabled();
+        this.memoryReadable = Files.isReadable(PROC.resolve("self").resolve("status"));
+    }
+
+    /**
+     * Get singleton instance of BrowserProfileMetrics
+     */
+    public static BrowserProfileMetrics getInstance() {
+        if (instance == null) {
+            synchronized (BrowserProfileMetrics.class) {
+                if (instance == null) {
+                    instance = new BrowserProfileMetrics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether {@link #sampleMemory} can measure local sessions here, i.e.
+     * metrics are enabled and {@code /proc} is readable.
+     */
+    public boolean isMemoryMeasurable() {
+        return enabled && memoryReadable;
+    }
+
+    /**
+     * Records a started session and locates its browser process.
+     *
+     * @param key           session family the driver was started for
+     * @param driver        the new session
+     * @param startupMillis time from launching the browser until it was ready
+     */
+    void recordStartup(DriverKey key, WebDriver driver, long startupMillis) {
+        if (!enabled) {
+            return;
+        }
+        counters.computeIfAbsent(key.getProfile(), profile -> new Counters()).recordStartup(startupMillis);
+        Optional<ProcessHandle> browserProcess = key.isRemote() || !memoryReadable
+                ? Optional.empty()
+                : findBrowserProcess(driver);
+        sessions.put(driver, new Session(key.getProfile(), browserProcess.orElse(null)));
+        logger.debug("Browser started in {}ms - Key: {}, Process: {}", startupMillis, key,
+                browserProcess.map(ProcessHandle::pid).map(String::valueOf).orElse("unknown"));
+    }
+
+    /**
+     * Reads the peak memory of a session's browser processes so far and keeps
+     * it if it is the highest seen for the session's profile.
+     *
+     * @param driver session started by {@link DriverFactory}
+     * @return the sampled peak in KB, or -1 if it cannot be measured
+     */
+    public long sampleMemory(WebDriver driver) {
+        Session session = enabled ? sessions.get(driver) : null;
+        if (session == null || session.browserProcess == null) {
+            return -1;
+        }
+        long peakRssKb = peakRssKb(session.browserProcess);
+        if (peakRssKb >= 0) {
+            counters.computeIfAbsent(session.profile, profile -> new Counters()).recordMemory(peakRssKb);
+        }
+        return peakRssKb;
+    }
+
+    /**
+     * Snapshot of every profile that started at least one session.
+     */
+    public Map<BrowserProfile, BrowserProfileStats> getStats() {
+        Map<BrowserProfile, BrowserProfileStats> stats = new EnumMap<>(BrowserProfile.class);
+        counters.forEach((profile, profileCounters) -> stats.put(profile, profileCounters.snapshot()));
+        return stats;
+    }
+
+    private static Optional<ProcessHandle> findBrowserProcess(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return Optional.empty();
+        }
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+        Object firefoxPid = capabilities.getCapability("moz:processID");
+        if (firefoxPid instanceof Number) {
+            return ProcessHandle.of(((Number) firefoxPid).longValue());
+        }
+        Object chrome = capabilities.getCapability("chrome");
+        Object userDataDir = chrome instanceof Map ? ((Map<?, ?>) chrome).get("userDataDir") : null;
+        if (userDataDir == null) {
+            return Optional.empty();
+        }
+        // Helper processes may repeat the flag; the browser is the one whose parent does not
+        String flag = "--user-data-dir=" + userDataDir;
+        return ProcessHandle.current().descendants()
+                .filter(process -> hasArgument(process, flag))
+                .filter(process -> !process.parent().map(parent -> hasArgument(parent, flag)).orElse(false))
+                .findFirst();
+    }
+
+    private static boolean hasArgument(ProcessHandle process, String argument) {
+        return process.info().arguments().map(arguments -> Arrays.asList(arguments).contains(argument))
+                .orElse(false);
+    }
+
+    private static long peakRssKb(ProcessHandle browserProcess) {
+        long total = readHighWaterMarkKb(browserProcess.pid());
+        if (total < 0) {
+            return -1;
+        }
+        total += browserProcess.descendants()
+                .mapToLong(process -> Math.max(0, readHighWaterMarkKb(process.pid())))
+                .sum();
+        return total;
+    }
+
+    private static long readHighWaterMarkKb(long pid) {
+        try (Stream<String> lines = Files.lines(PROC.resolve(String.valueOf(pid)).resolve("status"))) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                    .map(line -> line.replaceAll("\\D", ""))
+                    .mapToLong(Long::parseLong)
+                    .findFirst()
+                    .orElse(-1);
+        } catch (IOException | UncheckedIOException e) {
+            // The process exited since it was listed
+            return -1;
+        }
+    }
+
+    private static final class Session {
+        private final BrowserProfile profile;
+        private final ProcessHandle browserProcess;
+
+        Session(BrowserProfile profile, ProcessHandle browserProcess) {
+            this.profile = profile;
+            this.browserProcess = browserProcess;
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder sessionsStarted = new LongAdder();
+        private final LongAdder totalStartupMillis = new LongAdder();
+        private final AtomicLong maxStartupMillis = new AtomicLong();
+        private final LongAdder memorySamples = new LongAdder();
+        private final AtomicLong peakRssKb = new AtomicLong(-1);
+
+        void recordStartup(long startupMillis) {
+            sessionsStarted.increment();
+            totalStartupMillis.add(startupMillis);
+            maxStartupMillis.accumulateAndGet(startupMillis, Math::max);
+        }
+
+        void recordMemory(long rssKb) {
+            memorySamples.increment();
+            peakRssKb.accumulateAndGet(rssKb, Math::max);
+        }
+
+        BrowserProfileStats snapshot() {
+            return new BrowserProfileStats(sessionsStarted.sum(), totalStartupMillis.sum(), maxStartupMillis.get(),
+                    memorySamples.sum(), peakRssKb.get());
+        }
+    }
+}
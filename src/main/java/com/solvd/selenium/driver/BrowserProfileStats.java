@@ -0,0 +1,56 @@
+package com.solvd.selenium.driver;
+
+/**
+ * Point-in-time snapshot of what sessions of one {@link BrowserProfile} cost.
+ */
+public final class BrowserProfileStats {
+
+    private final long sessionsStarted;
+    private final long totalStartupMillis;
+    private final long maxStartupMillis;
+    private final long memorySamples;
+    private final long peakRssKb;
+
+    BrowserProfileStats(long sessionsStarted, long totalStartupMillis, long maxStartupMillis, long memorySamples,
+            long peakRssKb) {
+        this.sessionsStarted = sessionsStarted;
+        this.totalStartupMillis = totalStartupMillis;
+        this.maxStartupMillis = maxStartupMillis;
+        this.memorySamples = memorySamples;
+        this.peakRssKb = peakRssKb;
+    }
+
+    public long getSessionsStarted() {
+        return sessionsStarted;
+    }
+
+    public double getAverageStartupMillis() {
+        return sessionsStarted == 0 ? 0.0 : (double) totalStartupMillis / sessionsStarted;
+    }
+
+    public long getMaxStartupMillis() {
+        return maxStartupMillis;
+    }
+
+    /**
+     * Number of times a session's memory was read.
+     */
+    public long getMemorySamples() {
+        return memorySamples;
+    }
+
+    /**
+     * Highest resident memory of one session's browser processes, or -1 if it
+     * was never measured, e.g. for remote sessions.
+     */
+    public long getPeakRssKb() {
+        return peakRssKb;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sessions=%d, startup(avg=%.0fms, max=%dms), peakRss=%s (%d samples)",
+                sessionsStarted, getAverageStartupMillis(), maxStartupMillis,
+                peakRssKb < 0 ? "n/a" : (peakRssKb / 1024) + "MB", memorySamples);
+    }
+}
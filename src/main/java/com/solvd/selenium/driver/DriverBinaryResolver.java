@@ -0,0 +1,360 @@
+package com.solvd.selenium.driver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Resolves the local driver binary (chromedriver, geckodriver) once per browser
+ * per JVM and exports it through the {@code webdriver.*.driver} system property.
+ * Resolutions are remembered in an on-disk cache so later runs skip
+ * WebDriverManager's version lookup. A cached driver is only reused for the
+ * browser installation it was resolved for, so a browser upgrade resolves
+ * again. In offline mode only the cache and the binaries already on
+ * {@code PATH} are considered.
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+
+    private static DriverBinaryResolver instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final Map<String, CompletableFuture<Resolution>> resolutions = new ConcurrentHashMap<>();
+    private final Path cacheFile;
+    private final Duration cacheTtl;
+    private final boolean offline;
+
+    // Private constructor for singleton pattern
+    private DriverBinaryResolver() {
+        this.cacheFile = Paths.get(config.getDriverBinaryCacheFile());
+        this.cacheTtl = Duration.ofHours(config.getDriverBinaryCacheTtlHours());
+        this.offline = config.isDriverBinaryOfflineEnabled();
+    }
+
+    /**
+     * Get singleton instance of DriverBinaryResolver
+     */
+    public static DriverBinaryResolver getInstance() {
+        if (instance == null) {
+            synchronized (DriverBinaryResolver.class) {
+                if (instance == null) {
+                    instance = new DriverBinaryResolver();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Resolves the driver binary for a browser. Concurrent callers for the same
+     * browser block until the first resolution completes and then share it.
+     *
+     * @param browser browser name (chrome or firefox)
+     * @return the resolution, including how long it took
+     */
+    public Resolution resolve(String browser) {
+        String key = browser.toLowerCase();
+        CompletableFuture<Resolution> pending = new CompletableFuture<>();
+        CompletableFuture<Resolution> existing = resolutions.putIfAbsent(key, pending);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        // Resolved outside the map: WebDriverManager may download for a long time
+        try {
+            Resolution resolution = doResolve(key);
+            pending.complete(resolution);
+            return resolution;
+        } catch (RuntimeException | Error e) {
+            // Let the next caller try again, as if nothing had been resolved
+            resolutions.remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * All resolutions performed in this JVM, for start-up metrics.
+     */
+    public Collection<Resolution> getResolutions() {
+        return resolutions.values().stream()
+                .filter(resolution -> resolution.isDone() && !resolution.isCompletedExceptionally())
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private Resolution doResolve(String browser) {
+        String driverName = driverNameFor(browser);
+        long start = System.nanoTime();
+        String installation = browserInstallation(browser);
+
+        Resolution resolution = fromCache(browser, driverName, installation, start);
+        if (resolution == null) {
+            resolution = offline ? fromPath(browser, driverName, start)
+                    : fromWebDriverManager(browser, installation, start);
+        }
+        if (resolution == null) {
+            throw new RuntimeException(String.format(
+                    "Offline mode: no cached or PATH %s binary found for browser '%s'", driverName, browser));
+        }
+
+        System.setProperty(systemPropertyFor(browser), resolution.getDriverPath());
+        logger.info("Resolved {} {} from {} in {}ms: {}", driverName, resolution.getVersion(),
+                resolution.getSource(), resolution.getResolutionMillis(), resolution.getDriverPath());
+        return resolution;
+    }
+
+    private Resolution fromCache(String browser, String driverName, String installation, long start) {
+        Properties cache = readCache();
+        String path = cache.getProperty(browser + ".path");
+        String resolvedAt = cache.getProperty(browser + ".resolvedAt");
+        if (path == null || resolvedAt == null || !Files.isExecutable(Paths.get(path))) {
+            return null;
+        }
+        if (!installation.equals(cache.getProperty(browser + ".browser"))) {
+            logger.info("Browser {} changed since {} was cached, resolving again", browser, driverName);
+            return null;
+        }
+        if (isExpired(resolvedAt) && !offline) {
+            logger.debug("Cached {} resolution expired, resolving again", driverName);
+            return null;
+        }
+        return new Resolution(browser, path, cache.getProperty(browser + ".version", "unknown"),
+                Source.CACHE, elapsedMillis(start));
+    }
+
+    private boolean isExpired(String resolvedAt) {
+        try {
+            return Instant.parse(resolvedAt).plus(cacheTtl).isBefore(Instant.now());
+        } catch (DateTimeParseException e) {
+            logger.warn("Unreadable resolution time '{}' in driver binary cache {}, treating it as expired",
+                    resolvedAt, cacheFile);
+            return true;
+        }
+    }
+
+    /**
+     * Identifies the installed browser by its binary's location, size and
+     * modification time. An upgrade replaces the binary and so changes the
+     * value. Only file metadata is read: launching the browser for its version,
+     * as WebDriverManager does, would cost more than the cache saves.
+     */
+    private String browserInstallation(String browser) {
+        Optional<Path> binary = Optional.empty();
+        for (String candidate : browserBinariesFor(browser)) {
+            binary = Paths.get(candidate).isAbsolute() ? Optional.of(Paths.get(candidate)).filter(Files::isExecutable)
+                    : findOnPath(candidate);
+            if (binary.isPresent()) {
+                break;
+            }
+        }
+        if (binary.isEmpty()) {
+            return "unknown";
+        }
+        try {
+            Path path = binary.get().toRealPath();
+            return String.format("%s;%d;%d", path, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+        } catch (IOException e) {
+            logger.debug("Could not inspect {} binary {}: {}", browser, binary.get(), e.getMessage());
+            return "unknown";
+        }
+    }
+
+    private Resolution fromPath(String browser, String driverName, long start) {
+        return findOnPath(driverName)
+                .map(binary -> new Resolution(browser, binary.toString(), "unknown", Source.PATH,
+                        elapsedMillis(start)))
+                .orElse(null);
+    }
+
+    private static Optional<Path> findOnPath(String executable) {
+        String pathEnv = System.getenv("PATH");
+        if (pathEnv == null) {
+            return Optional.empty();
+        }
+        for (String dir : pathEnv.split(File.pathSeparator)) {
+            for (String candidate : new String[] { executable, executable + ".exe" }) {
+                Path binary = Paths.get(dir, candidate);
+                if (Files.isExecutable(binary)) {
+                    return Optional.of(binary);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Resolution fromWebDriverManager(String browser, String installation, long start) {
+        WebDriverManager manager = managerFor(browser);
+        manager.setup();
+
+        Resolution resolution = new Resolution(browser, manager.getDownloadedDriverPath(),
+                manager.getDownloadedDriverVersion(), Source.WEBDRIVERMANAGER, elapsedMillis(start));
+        writeCache(resolution, installation);
+        return resolution;
+    }
+
+    private synchronized Properties readCache() {
+        Properties cache = new Properties();
+        if (Files.exists(cacheFile)) {
+            try (InputStream input = Files.newInputStream(cacheFile)) {
+                cache.load(input);
+            } catch (IOException e) {
+                logger.warn("Failed to read driver binary cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Writes through a temp file and an atomic rename so parallel JVMs never see a
+     * half-written cache.
+     */
+    private synchronized void writeCache(Resolution resolution, String installation) {
+        Properties cache = readCache();
+        cache.setProperty(resolution.getBrowser() + ".path", resolution.getDriverPath());
+        cache.setProperty(resolution.getBrowser() + ".version", resolution.getVersion());
+        cache.setProperty(resolution.getBrowser() + ".browser", installation);
+        cache.setProperty(resolution.getBrowser() + ".resolvedAt", Instant.now().toString());
+        try {
+            Path parent = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "driver-binaries", ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                cache.store(output, "Driver binary resolution cache");
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write driver binary cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private static String[] browserBinariesFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return new String[] { "google-chrome", "google-chrome-stable", "chromium", "chromium-browser", "chrome",
+                        "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome",
+                        "C:\\Program Files\\Google\\Chrome\\Application\\chrome.exe",
+                        "C:\\Program Files (x86)\\Google\\Chrome\\Application\\chrome.exe" };
+            case "firefox":
+                return new String[] { "firefox",
+                        "/Applications/Firefox.app/Contents/MacOS/firefox",
+                        "C:\\Program Files\\Mozilla Firefox\\firefox.exe",
+                        "C:\\Program Files (x86)\\Mozilla Firefox\\firefox.exe" };
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String driverNameFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "chromedriver";
+            case "firefox":
+                return "geckodriver";
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String systemPropertyFor(String browser) {
+        return "chrome".equals(browser) ? "webdriver.chrome.driver" : "webdriver.gecko.driver";
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Where a driver binary was found.
+     */
+    public enum Source {
+        CACHE, PATH, WEBDRIVERMANAGER
+    }
+
+    /**
+     * Outcome of resolving one browser's driver binary.
+     */
+    public static final class Resolution {
+        private final String browser;
+        private final String driverPath;
+        private final String version;
+        private final Source source;
+        private final long resolutionMillis;
+
+        private Resolution(String browser, String driverPath, String version, Source source, long resolutionMillis) {
+            this.browser = browser;
+            this.driverPath = driverPath;
+            this.version = version != null ? version : "unknown";
+            this.source = source;
+            this.resolutionMillis = resolutionMillis;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public String getDriverPath() {
+            return driverPath;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public Source getSource() {
+            return source;
+        }
+
+        public long getResolutionMillis() {
+            return resolutionMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s %s via %s in %dms", browser, driverPath, version, source, resolutionMillis);
+        }
+    }
+}
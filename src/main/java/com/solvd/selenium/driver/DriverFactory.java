@@ -0,0 +1,213 @@
+package com.solvd.selenium.driver;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.artifacts.FailureCapture;
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.network.NetworkMode;
+import com.solvd.selenium.network.RecordReplayProxy;
+import com.solvd.selenium.network.ResourceBlocker;
+import com.solvd.selenium.waits.WaitPolicy;
+
+/**
+ * Creates WebDriver sessions for a {@link DriverKey}.
+ * Holds the browser options that used to live in BaseTest so both the session
+ * pool and the non-pooled path start identical browsers.
+ */
+public class DriverFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final DriverBinaryResolver binaryResolver = DriverBinaryResolver.getInstance();
+    private final WaitPolicy waitPolicy = WaitPolicy.getInstance();
+    private final ResourceBlocker resourceBlocker = ResourceBlocker.getInstance();
+    private final FailureCapture failureCapture = FailureCapture.getInstance();
+    private final BrowserProfileMetrics profileMetrics = BrowserProfileMetrics.getInstance();
+
+    /**
+     * Builds the pool key for the given browser and execution target.
+     *
+     * @param browser browser name (chrome or firefox)
+     * @param remote  true to run on the Selenium Hub
+     * @param profile launch profile, e.g. headless
+     * @return key carrying the options the session will be started with
+     */
+    public DriverKey keyFor(String browser, boolean remote, BrowserProfile profile) {
+        return new DriverKey(browser, remote, profile, createOptions(browser, remote, profile));
+    }
+
+    /**
+     * Starts a new browser session and applies the common timeouts and window
+     * settings. Headed browsers are maximized; headless profiles keep the
+     * viewport set in their options.
+     *
+     * @param key session family to start
+     * @return a ready-to-use WebDriver
+     */
+    public WebDriver create(DriverKey key) {
+        long start = System.nanoTime();
+        WebDriver driver = key.isRemote() ? createRemoteDriver(key) : createLocalDriver(key);
+
+        waitPolicy.applyTo(driver);
+        if (!key.getProfile().isHeadless()) {
+            driver.manage().window().maximize();
+        }
+        long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        profileMetrics.recordStartup(key, driver, startupMillis);
+        resourceBlocker.attach(driver);
+        failureCapture.attach(driver);
+
+        logger.info("WebDriver started in {}ms - Key: {}, Implicit Wait: 0s (owned by WaitPolicy), Page Load Timeout: {}s",
+                startupMillis, key, waitPolicy.getPageLoadTimeout().getSeconds());
+        return driver;
+    }
+
+    private WebDriver createLocalDriver(DriverKey key) {
+        switch (key.getBrowser()) {
+            case "chrome":
+                binaryResolver.resolve(key.getBrowser());
+                return new ChromeDriver((ChromeOptions) key.getOptions());
+
+            case "firefox":
+                binaryResolver.resolve(key.getBrowser());
+                return new FirefoxDriver((FirefoxOptions) key.getOptions());
+
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + key.getBrowser());
+        }
+    }
+
+    private WebDriver createRemoteDriver(DriverKey key) {
+        String hubUrl = config.getSeleniumHubUrl();
+        try {
+            RemoteWebDriver driver = new RemoteWebDriver(new URL(hubUrl), key.getOptions());
+            logger.info("Connected to Selenium Hub at: {}", hubUrl);
+            return driver;
+        } catch (MalformedURLException e) {
+            logger.error("Invalid Selenium Hub URL: {}", hubUrl, e);
+            throw new RuntimeException("Failed to setup remote driver due to invalid Hub URL", e);
+        }
+    }
+
+    private MutableCapabilities createOptions(String browser, boolean remote, BrowserProfile profile) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                return getChromeOptions(remote, profile);
+            case "firefox":
+                return getFirefoxOptions(remote, profile);
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    /**
+     * Chrome-specific options
+     */
+    private ChromeOptions getChromeOptions(boolean remote, BrowserProfile profile) {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--remote-allow-origins=*");
+
+        if (profile.isHeadless()) {
+            options.addArguments("--headless=new");
+        }
+        if (remote || profile.isHeadless()) {
+            options.addArguments("--disable-gpu");
+            int width = config.getWindowWidth();
+            int height = config.getWindowHeight();
+            options.addArguments(String.format("--window-size=%d,%d", width, height));
+        }
+        if (profile == BrowserProfile.REDUCED_RESOURCES) {
+            options.addArguments("--blink-settings=imagesEnabled=false");
+            options.addArguments("--disable-remote-fonts");
+            options.addArguments("--force-prefers-reduced-motion");
+            options.addArguments("--no-first-run");
+            options.addArguments("--no-default-browser-check");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-sync");
+            options.addArguments("--mute-audio");
+        }
+
+        applyRecordReplayProxy(options, remote, false);
+        return options;
+    }
+
+    /**
+     * Firefox-specific options
+     */
+    private FirefoxOptions getFirefoxOptions(boolean remote, BrowserProfile profile) {
+        FirefoxOptions options = new FirefoxOptions();
+        options.addPreference("dom.webdriver.enabled", false);
+        options.addPreference("useAutomationExtension", false);
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+
+        if (profile.isHeadless()) {
+            options.addArguments("-headless");
+        }
+        if (remote || profile.isHeadless()) {
+            int width = config.getWindowWidth();
+            int height = config.getWindowHeight();
+            options.addArguments(String.format("--width=%d", width));
+            options.addArguments(String.format("--height=%d", height));
+        }
+        if (profile == BrowserProfile.REDUCED_RESOURCES) {
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+            options.addPreference("ui.prefersReducedMotion", 1);
+            options.addPreference("toolkit.cosmeticAnimations.enabled", false);
+            options.addPreference("browser.shell.checkDefaultBrowser", false);
+            options.addPreference("browser.startup.homepage_override.mstone", "ignore");
+            options.addPreference("browser.aboutwelcome.enabled", false);
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+            options.addPreference("app.update.auto", false);
+        }
+
+        // Firefox has no in-browser request interception here, the proxy does the blocking
+        applyRecordReplayProxy(options, remote, resourceBlocker.isEnabled());
+
+        logger.debug("Firefox options configured");
+        return options;
+    }
+
+    /**
+     * Routes a local browser through the record/replay proxy when
+     * {@code network.mode} is not 'off' or the proxy has to block resources for
+     * it, starting the proxy on first use. Certificate errors are accepted
+     * because the proxy terminates HTTPS with its own self-signed certificate.
+     */
+    private void applyRecordReplayProxy(AbstractDriverOptions<?> options, boolean remote, boolean blockThroughProxy) {
+        if (remote || (config.getNetworkMode() == NetworkMode.OFF && !blockThroughProxy)) {
+            return;
+        }
+        RecordReplayProxy recordReplayProxy = RecordReplayProxy.getInstance();
+        recordReplayProxy.start();
+
+        Proxy proxy = new Proxy();
+        proxy.setHttpProxy(recordReplayProxy.getAddress());
+        proxy.setSslProxy(recordReplayProxy.getAddress());
+        proxy.setNoProxy("localhost,127.0.0.1");
+        options.setProxy(proxy);
+        options.setAcceptInsecureCerts(true);
+    }
+}
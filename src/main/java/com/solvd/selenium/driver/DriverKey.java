@@ -0,0 +1,67 @@
+package com.solvd.selenium.driver;
+
+import java.util.Objects;
+
+import org.openqa.selenium.Capabilities;
+
+/**
+ * Identifies a family of interchangeable WebDriver sessions.
+ * Two sessions with equal keys were started for the same browser, on the same
+ * execution target (local or Selenium Grid), with the same profile and the
+ * same capabilities, so one can be handed out in place of the other.
+ */
+public final class DriverKey {
+
+    private final String browser;
+    private final boolean remote;
+    private final BrowserProfile profile;
+    private final Capabilities options;
+
+    public DriverKey(String browser, boolean remote, BrowserProfile profile, Capabilities options) {
+        this.browser = Objects.requireNonNull(browser, "browser").toLowerCase();
+        this.remote = remote;
+        this.profile = Objects.requireNonNull(profile, "profile");
+        this.options = Objects.requireNonNull(options, "options");
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    public BrowserProfile getProfile() {
+        return profile;
+    }
+
+    public Capabilities getOptions() {
+        return options;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DriverKey)) {
+            return false;
+        }
+        DriverKey other = (DriverKey) o;
+        return remote == other.remote
+                && browser.equals(other.browser)
+                && profile == other.profile
+                && options.asMap().equals(other.options.asMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(browser, remote, profile, options.asMap());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s/%s/%s", browser, remote ? "remote" : "local", profile.getConfigValue());
+    }
+}
@@ -0,0 +1,462 @@
+package com.solvd.selenium.driver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.threads.Threads;
+
+/**
+ * Bounded, thread-safe pool of warm WebDriver sessions.
+ * Sessions are grouped by {@link DriverKey}, but at most
+ * {@code driver.pool.max.sessions} sessions of all keys together are alive in
+ * the JVM. A test thread leases a session of its key; when the pool is full,
+ * an idle session of another key is quit to make room, and only if every
+ * session is leased does the thread wait. On release the pool clears cookies,
+ * storage and extra tabs so the next lease starts from a blank page; only the
+ * consent cookies are kept, so the next lease does not have to seed them
+ * again (see {@link #hasRetainedCookies}). Sessions
+ * that fail a health check or exceed {@code driver.pool.max.reuse} leases are
+ * quit and replaced lazily.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private static DriverPool instance;
+
+    // Clears web storage except the entries whose keys start with one of the retained cookie names
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "var keep = arguments[0], saved = {};"
+            + "for (var i = 0; i < localStorage.length; i++) {"
+            + "  var key = localStorage.key(i);"
+            + "  if (keep.some(function (name) { return key.indexOf(name) === 0; })) {"
+            + "    saved[key] = localStorage.getItem(key);"
+            + "  }"
+            + "}"
+            + "localStorage.clear(); sessionStorage.clear();"
+            + "Object.keys(saved).forEach(function (key) { localStorage.setItem(key, saved[key]); });";
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final DriverFactory factory;
+    private final int maxSessions;
+    private final int maxReuse;
+    private final long leaseTimeoutSeconds;
+    // Consent survives a release, the first name marks it as given
+    private final List<String> retainedCookieNames;
+
+    // Guards idleByKey and liveSessions; sessionFreed is signalled whenever a slot may have opened up
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition sessionFreed = lock.newCondition();
+    // Most recently released first
+    private final Map<DriverKey, Deque<PooledDriver>> idleByKey = new HashMap<>();
+    // Idle, leased and starting sessions of all keys
+    private int liveSessions;
+    private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+    private final LongAdder sessionsCreated = new LongAdder();
+    private final LongAdder sessionsEvicted = new LongAdder();
+    private final LongAdder totalLeaseWaitNanos = new LongAdder();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    // Private constructor for singleton pattern
+    private DriverPool(DriverFactory factory) {
+        this.factory = factory;
+        this.maxSessions = config.getDriverPoolMaxSessions();
+        this.maxReuse = config.getDriverPoolMaxReuse();
+        this.leaseTimeoutSeconds = config.getDriverPoolLeaseTimeoutSeconds();
+        this.retainedCookieNames = config.isConsentBootstrapEnabled() ? config.getConsentCookieNames() : List.of();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::quitAll, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Get singleton instance of DriverPool
+     */
+    public static DriverPool getInstance() {
+        if (instance == null) {
+            synchronized (DriverPool.class) {
+                if (instance == null) {
+                    instance = new DriverPool(new DriverFactory());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public DriverFactory getFactory() {
+        return factory;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Starts up to {@code count} sessions for the key in parallel and parks them
+     * as idle, so the first tests of the suite do not pay browser start-up.
+     *
+     * @param key   session family to warm
+     * @param count number of sessions to start (capped by the free room in the
+     *              pool)
+     */
+    public void prewarm(DriverKey key, int count) {
+        int toStart;
+        lock.lock();
+        try {
+            toStart = Math.min(count, maxSessions - liveSessions);
+            if (toStart <= 0) {
+                return;
+            }
+            liveSessions += toStart;
+        } finally {
+            lock.unlock();
+        }
+
+        logger.info("Pre-warming {} WebDriver session(s) for {}", toStart, key);
+        ExecutorService executor = Threads.newPerTaskExecutor("driver-pool-prewarm");
+        int parked = 0;
+        try {
+            List<Future<PooledDriver>> futures = new ArrayList<>();
+            for (int i = 0; i < toStart; i++) {
+                futures.add(executor.submit(() -> createSession(key)));
+            }
+            for (Future<PooledDriver> future : futures) {
+                try {
+                    PooledDriver pooled = future.get();
+                    parkIdle(pooled);
+                    parked++;
+                } catch (ExecutionException e) {
+                    logger.warn("Failed to pre-warm WebDriver session for {}: {}", key, e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while pre-warming WebDriver sessions for {}", key);
+        } finally {
+            executor.shutdownNow();
+            releaseSlots(toStart - parked);
+        }
+    }
+
+    /**
+     * Leases a session for the calling test. When the pool is full, an idle
+     * session of another key is quit to make room; the call only blocks while
+     * every live session is leased.
+     *
+     * @param key session family to lease from
+     * @return a healthy WebDriver positioned on about:blank
+     * @throws RuntimeException if no session frees up within the lease timeout
+     */
+    public WebDriver lease(DriverKey key) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(leaseTimeoutSeconds);
+        long waitNanos = 0;
+        PooledDriver pooled = null;
+        while (pooled == null) {
+            PooledDriver displaced = null;
+            lock.lock();
+            try {
+                while (true) {
+                    pooled = pollIdle(key);
+                    if (pooled != null || liveSessions < maxSessions) {
+                        break;
+                    }
+                    displaced = pollIdleOfOtherKey(key);
+                    if (displaced != null) {
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new RuntimeException(String.format(
+                                "Timed out after %ds waiting for a free WebDriver session for %s (pool size %d)",
+                                leaseTimeoutSeconds, key, maxSessions));
+                    }
+                    sessionFreed.awaitNanos(remaining);
+                }
+                if (pooled == null && displaced == null) {
+                    liveSessions++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a WebDriver session for " + key, e);
+            } finally {
+                lock.unlock();
+            }
+            waitNanos = System.nanoTime() - start;
+
+            if (pooled != null) {
+                if (!isHealthy(pooled)) {
+                    evict(pooled, "failed health check");
+                    releaseSlots(1);
+                    pooled = null;
+                }
+                continue;
+            }
+            if (displaced != null) {
+                // The new session takes over the displaced session's slot
+                evict(displaced, "making room for " + key);
+            }
+            try {
+                pooled = createSession(key);
+            } catch (RuntimeException e) {
+                releaseSlots(1);
+                throw e;
+            }
+        }
+        recordLeaseWait(waitNanos);
+
+        // Only a session that served an earlier lease counts as reused, not a pre-warmed one
+        if (pooled.getLeaseCount() > 0) {
+            reuses.increment();
+        }
+        pooled.markLeased();
+        leased.put(pooled.getDriver(), pooled);
+        leases.increment();
+        logger.debug("Leased WebDriver for {} (lease #{})", key, pooled.getLeaseCount());
+        return pooled.getDriver();
+    }
+
+    /**
+     * Returns a leased session to the pool after resetting its state. Sessions
+     * that cannot be reset or have reached the reuse limit are quit instead.
+     *
+     * @param driver driver obtained from {@link #lease(DriverKey)}
+     */
+    public void release(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            logger.warn("Released WebDriver was not leased from the pool, quitting it");
+            quitQuietly(driver);
+            return;
+        }
+
+        if (pooled.getLeaseCount() >= maxReuse) {
+            evict(pooled, "reached max reuse count of " + maxReuse);
+            releaseSlots(1);
+        } else if (!resetState(pooled)) {
+            evict(pooled, "state reset failed");
+            releaseSlots(1);
+        } else {
+            parkIdle(pooled);
+        }
+    }
+
+    /**
+     * Quits a leased session without returning it to the pool, e.g. when the
+     * test left the browser in an unknown state.
+     *
+     * @param driver driver obtained from {@link #lease(DriverKey)}
+     */
+    public void invalidate(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            evict(pooled, "invalidated by caller");
+        } finally {
+            releaseSlots(1);
+        }
+    }
+
+    /**
+     * Quits all idle sessions. Leased sessions are left untouched.
+     */
+    public void closeIdleSessions() {
+        List<PooledDriver> idle = new ArrayList<>();
+        lock.lock();
+        try {
+            idleByKey.values().forEach(idle::addAll);
+            idleByKey.clear();
+        } finally {
+            lock.unlock();
+        }
+        idle.forEach(pooled -> quitQuietly(pooled.getDriver()));
+        releaseSlots(idle.size());
+        logger.info("Closed idle WebDriver sessions. Pool stats: {}", getStats());
+    }
+
+    /**
+     * Whether a leased session kept the consent cookies through its last
+     * release, so they do not have to be seeded again for this lease.
+     *
+     * @param driver driver obtained from {@link #lease(DriverKey)}
+     * @return true if the consent marker cookie survived the reset
+     */
+    public boolean hasRetainedCookies(WebDriver driver) {
+        PooledDriver pooled = leased.get(driver);
+        return pooled != null && pooled.isCookiesRetained();
+    }
+
+    public DriverPoolStats getStats() {
+        return new DriverPoolStats(
+                leases.sum(),
+                reuses.sum(),
+                sessionsCreated.sum(),
+                sessionsEvicted.sum(),
+                TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get()));
+    }
+
+    // Callers hold the lock
+    private PooledDriver pollIdle(DriverKey key) {
+        Deque<PooledDriver> idle = idleByKey.get(key);
+        return idle != null ? idle.pollFirst() : null;
+    }
+
+    // Least recently released idle session of any other key; callers hold the lock
+    private PooledDriver pollIdleOfOtherKey(DriverKey key) {
+        for (Map.Entry<DriverKey, Deque<PooledDriver>> entry : idleByKey.entrySet()) {
+            if (!entry.getKey().equals(key) && !entry.getValue().isEmpty()) {
+                return entry.getValue().pollLast();
+            }
+        }
+        return null;
+    }
+
+    private void parkIdle(PooledDriver pooled) {
+        lock.lock();
+        try {
+            idleByKey.computeIfAbsent(pooled.getKey(), key -> new ArrayDeque<>()).offerFirst(pooled);
+            sessionFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseSlots(int count) {
+        if (count <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            liveSessions -= count;
+            sessionFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledDriver createSession(DriverKey key) {
+        WebDriver driver = factory.create(key);
+        sessionsCreated.increment();
+        return new PooledDriver(driver, key);
+    }
+
+    private boolean isHealthy(PooledDriver pooled) {
+        try {
+            pooled.getDriver().getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.warn("WebDriver session for {} failed health check: {}", pooled.getKey(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Closes extra tabs and clears cookies, web storage and the current URL,
+     * keeping the consent cookies and their storage entries.
+     */
+    private boolean resetState(PooledDriver pooled) {
+        WebDriver driver = pooled.getDriver();
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            String primaryHandle = handles.get(0);
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(primaryHandle);
+
+            if (driver instanceof JavascriptExecutor) {
+                try {
+                    ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT, retainedCookieNames);
+                } catch (Exception e) {
+                    // Storage is not accessible on some origins (e.g. about:blank)
+                    logger.debug("Could not clear web storage: {}", e.getMessage());
+                }
+            }
+            List<Cookie> retained = new ArrayList<>();
+            if (!retainedCookieNames.isEmpty()) {
+                driver.manage().getCookies().stream()
+                        .filter(cookie -> retainedCookieNames.contains(cookie.getName()))
+                        .forEach(retained::add);
+            }
+            driver.manage().deleteAllCookies();
+            pooled.setCookiesRetained(restoreCookies(pooled, retained));
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset WebDriver state for {}: {}", pooled.getKey(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the consent marker cookie is back in the session
+     */
+    private boolean restoreCookies(PooledDriver pooled, List<Cookie> retained) {
+        try {
+            retained.forEach(cookie -> pooled.getDriver().manage().addCookie(cookie));
+        } catch (Exception e) {
+            // The session is still clean, the next lease just seeds consent again
+            logger.debug("Could not keep consent cookies for {}: {}", pooled.getKey(), e.getMessage());
+            return false;
+        }
+        return retained.stream().anyMatch(cookie -> cookie.getName().equals(retainedCookieNames.get(0)));
+    }
+
+    private void evict(PooledDriver pooled, String reason) {
+        logger.info("Evicting WebDriver session for {} after {} lease(s): {}",
+                pooled.getKey(), pooled.getLeaseCount(), reason);
+        sessionsEvicted.increment();
+        quitQuietly(pooled.getDriver());
+    }
+
+    private void recordLeaseWait(long waitNanos) {
+        totalLeaseWaitNanos.add(waitNanos);
+        maxLeaseWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void quitAll() {
+        leased.keySet().forEach(this::quitQuietly);
+        leased.clear();
+        lock.lock();
+        try {
+            idleByKey.values().forEach(idle -> idle.forEach(pooled -> quitQuietly(pooled.getDriver())));
+            idleByKey.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error while quitting WebDriver: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.solvd.selenium.driver;
+
+/**
+ * Point-in-time snapshot of {@link DriverPool} counters.
+ */
+public final class DriverPoolStats {
+
+    private final long leases;
+    private final long reuses;
+    private final long sessionsCreated;
+    private final long sessionsEvicted;
+    private final long totalLeaseWaitMillis;
+    private final long maxLeaseWaitMillis;
+
+    DriverPoolStats(long leases, long reuses, long sessionsCreated, long sessionsEvicted,
+            long totalLeaseWaitMillis, long maxLeaseWaitMillis) {
+        this.leases = leases;
+        this.reuses = reuses;
+        this.sessionsCreated = sessionsCreated;
+        this.sessionsEvicted = sessionsEvicted;
+        this.totalLeaseWaitMillis = totalLeaseWaitMillis;
+        this.maxLeaseWaitMillis = maxLeaseWaitMillis;
+    }
+
+    public long getLeases() {
+        return leases;
+    }
+
+    public long getReuses() {
+        return reuses;
+    }
+
+    public long getSessionsCreated() {
+        return sessionsCreated;
+    }
+
+    public long getSessionsEvicted() {
+        return sessionsEvicted;
+    }
+
+    /**
+     * Share of leases served by an already running session (0.0 - 1.0).
+     */
+    public double getReuseRatio() {
+        return leases == 0 ? 0.0 : (double) reuses / leases;
+    }
+
+    public long getTotalLeaseWaitMillis() {
+        return totalLeaseWaitMillis;
+    }
+
+    public long getMaxLeaseWaitMillis() {
+        return maxLeaseWaitMillis;
+    }
+
+    public double getAverageLeaseWaitMillis() {
+        return leases == 0 ? 0.0 : (double) totalLeaseWaitMillis / leases;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "leases=%d, reuses=%d, reuseRatio=%.2f, created=%d, evicted=%d, leaseWait(avg=%.1fms, max=%dms)",
+                leases, reuses, getReuseRatio(), sessionsCreated, sessionsEvicted,
+                getAverageLeaseWaitMillis(), maxLeaseWaitMillis);
+    }
+}
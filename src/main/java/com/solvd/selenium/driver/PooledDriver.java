@@ -0,0 +1,43 @@
+package com.solvd.selenium.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A browser session owned by {@link DriverPool} together with its bookkeeping.
+ */
+class PooledDriver {
+
+    private final WebDriver driver;
+    private final DriverKey key;
+    private int leaseCount;
+    private boolean cookiesRetained;
+
+    PooledDriver(WebDriver driver, DriverKey key) {
+        this.driver = driver;
+        this.key = key;
+    }
+
+    WebDriver getDriver() {
+        return driver;
+    }
+
+    DriverKey getKey() {
+        return key;
+    }
+
+    int getLeaseCount() {
+        return leaseCount;
+    }
+
+    void markLeased() {
+        leaseCount++;
+    }
+
+    boolean isCookiesRetained() {
+        return cookiesRetained;
+    }
+
+    void setCookiesRetained(boolean cookiesRetained) {
+        this.cookiesRetained = cookiesRetained;
+    }
+}
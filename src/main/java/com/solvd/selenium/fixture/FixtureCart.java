@@ -0,0 +1,96 @@
+package com.solvd.selenium.fixture;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shopping bag state of the fixture storefront, one bag per browser session.
+ */
+public class FixtureCart {
+
+    private final Map<String, List<Map<String, Object>>> bags = new ConcurrentHashMap<>();
+    private final AtomicLong nextItemId = new AtomicLong(1);
+
+    /**
+     * Adds a product to a session's bag, or bumps the quantity if the same size
+     * is already in it.
+     *
+     * @param sessionId fixture session cookie value
+     * @param product   catalog entry
+     * @param size      selected size
+     * @param quantity  number of units to add
+     */
+    public void add(String sessionId, Map<String, Object> product, String size, int quantity) {
+        List<Map<String, Object>> bag = bagOf(sessionId);
+        synchronized (bag) {
+            for (Map<String, Object> item : bag) {
+                if (item.get("productId").equals(product.get("id")) && item.get("size").equals(size)) {
+                    item.put("quantity", ((Number) item.get("quantity")).intValue() + quantity);
+                    return;
+                }
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("itemId", String.valueOf(nextItemId.getAndIncrement()));
+            item.put("productId", product.get("id"));
+            item.put("title", product.get("title"));
+            item.put("price", ((Number) product.get("price")).doubleValue());
+            item.put("size", size);
+            item.put("quantity", quantity);
+            bag.add(item);
+        }
+    }
+
+    /**
+     * Sets an item's quantity; a quantity below 1 removes the item.
+     */
+    public void update(String sessionId, String itemId, int quantity) {
+        if (quantity < 1) {
+            remove(sessionId, itemId);
+            return;
+        }
+        List<Map<String, Object>> bag = bagOf(sessionId);
+        synchronized (bag) {
+            bag.stream()
+                    .filter(item -> item.get("itemId").equals(itemId))
+                    .forEach(item -> item.put("quantity", quantity));
+        }
+    }
+
+    public void remove(String sessionId, String itemId) {
+        List<Map<String, Object>> bag = bagOf(sessionId);
+        synchronized (bag) {
+            bag.removeIf(item -> item.get("itemId").equals(itemId));
+        }
+    }
+
+    public void clear(String sessionId) {
+        bags.remove(sessionId);
+    }
+
+    /**
+     * JSON-ready view of a session's bag: its items and the order total.
+     */
+    public Map<String, Object> view(String sessionId) {
+        List<Map<String, Object>> bag = bagOf(sessionId);
+        List<Map<String, Object>> items = new ArrayList<>();
+        double total = 0;
+        synchronized (bag) {
+            for (Map<String, Object> item : bag) {
+                items.add(new LinkedHashMap<>(item));
+                total += ((Number) item.get("price")).doubleValue() * ((Number) item.get("quantity")).intValue();
+            }
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("items", items);
+        view.put("total", total);
+        return view;
+    }
+
+    private List<Map<String, Object>> bagOf(String sessionId) {
+        return bags.computeIfAbsent(sessionId, id -> new ArrayList<>());
+    }
+}
@@ -0,0 +1,385 @@
+package com.solvd.selenium.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.threads.Threads;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server replaying the storefront for offline runs.
+ * Serves snapshots of the home, category, product, search and shopping bag
+ * pages using the same selectors as the page objects, plus a small cart API
+ * so add/update/remove flows behave like the real site. Point
+ * {@code base.url} at {@link #getBaseUrl()} to run the suite against it.
+ *
+ * <ul>
+ * <li>{@code /} - home page</li>
+ * <li>{@code /shop/{gender}/{category}} - category page</li>
+ * <li>{@code /style/{productId}} - product page</li>
+ * <li>{@code /search?w={term}} - search results</li>
+ * <li>{@code /shoppingbag} - shopping bag</li>
+ * <li>{@code /api/bag}, {@code /api/bag/add|update|remove|clear} - cart state</li>
+ * </ul>
+ */
+public class FixtureServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+
+    private static final String SITE_ROOT = "/fixtures/site/";
+    public static final String SESSION_COOKIE = "fixture_session";
+
+    // First size product.html offers that is not marked unavailable
+    public static final String FIRST_AVAILABLE_SIZE = "8";
+
+    private static FixtureServer instance;
+
+    private final Json json = new Json();
+    private final List<Map<String, Object>> catalog;
+    private final FixtureCart cart = new FixtureCart();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Private constructor for singleton pattern
+    private FixtureServer() {
+        this.catalog = json.toType(readResource("catalog.json"), Json.LIST_OF_MAPS_TYPE);
+    }
+
+    /**
+     * Get singleton instance of FixtureServer
+     */
+    public static FixtureServer getInstance() {
+        if (instance == null) {
+            synchronized (FixtureServer.class) {
+                if (instance == null) {
+                    instance = new FixtureServer();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the server on the given port. Calling it while running is a no-op.
+     *
+     * @param port TCP port, or 0 for any free port
+     */
+    public synchronized void start(int port) {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start fixture server on port " + port, e);
+        }
+        executor = Threads.newPerTaskExecutor("fixture-server");
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Fixture server started at {}", getBaseUrl());
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        logger.info("Fixture server stopped");
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Base URL with trailing slash, matching the format of {@code base.url}.
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Fixture server is not running");
+        }
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public FixtureCart getCart() {
+        return cart;
+    }
+
+    /**
+     * Catalog entry for a product id, if the fixture knows it.
+     */
+    public Optional<Map<String, Object>> findProduct(String productId) {
+        return catalog.stream().filter(product -> product.get("id").equals(productId)).findFirst();
+    }
+
+    /**
+     * Products of a category in catalog order, e.g. "women/dresses".
+     */
+    public List<Map<String, Object>> findProductsInCategory(String category) {
+        return catalog.stream()
+                .filter(product -> product.get("category").equals(category))
+                .collect(Collectors.toList());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String sessionId = sessionOf(exchange);
+
+            if (path.equals("/")) {
+                sendHtml(exchange, readResource("index.html"));
+            } else if (path.startsWith("/static/")) {
+                sendStatic(exchange, path.substring("/static/".length()));
+            } else if (path.startsWith("/shop/")) {
+                sendCategory(exchange, path.substring("/shop/".length()));
+            } else if (path.startsWith("/style/")) {
+                sendProduct(exchange, path.substring("/style/".length()));
+            } else if (path.equals("/search")) {
+                sendSearch(exchange, queryParameter(exchange, "w"));
+            } else if (path.equals("/shoppingbag")) {
+                sendHtml(exchange, readResource("shoppingbag.html"));
+            } else if (path.startsWith("/api/bag")) {
+                handleBagApi(exchange, path, sessionId);
+            } else {
+                send(exchange, 404, "text/plain", "Not found: " + path);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Fixture server failed to handle {}", exchange.getRequestURI(), e);
+            send(exchange, 500, "text/plain", "Fixture error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sendCategory(HttpExchange exchange, String category) throws IOException {
+        List<Map<String, Object>> products = findProductsInCategory(category);
+        if (products.isEmpty()) {
+            send(exchange, 404, "text/plain", "Unknown category: " + category);
+            return;
+        }
+        Map<String, String> values = new HashMap<>();
+        values.put("title", categoryTitle(category));
+        values.put("products", renderProductGrid(products));
+        sendHtml(exchange, render(readResource("category.html"), values));
+    }
+
+    private void sendProduct(HttpExchange exchange, String productId) throws IOException {
+        Optional<Map<String, Object>> product = findProduct(productId);
+        if (!product.isPresent()) {
+            send(exchange, 404, "text/plain", "Unknown product: " + productId);
+            return;
+        }
+        Map<String, String> values = new HashMap<>();
+        values.put("id", escape(productId));
+        values.put("title", escape(String.valueOf(product.get().get("title"))));
+        values.put("price", formatPrice(product.get().get("price")));
+        values.put("description", escape(String.valueOf(product.get().get("description"))));
+        sendHtml(exchange, render(readResource("product.html"), values));
+    }
+
+    private void sendSearch(HttpExchange exchange, String term) throws IOException {
+        String needle = term == null ? "" : term.trim().toLowerCase();
+        List<Map<String, Object>> results = catalog.stream()
+                .filter(product -> String.valueOf(product.get("title")).toLowerCase().contains(needle)
+                        || String.valueOf(product.get("category")).contains(needle))
+                .collect(Collectors.toList());
+
+        Map<String, String> values = new HashMap<>();
+        values.put("term", escape(term == null ? "" : term));
+        values.put("products", renderProductGrid(results));
+        sendHtml(exchange, render(readResource("search.html"), values));
+    }
+
+    private void handleBagApi(HttpExchange exchange, String path, String sessionId) throws IOException {
+        Map<String, Object> body = "POST".equals(exchange.getRequestMethod())
+                ? json.toType(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), Json.MAP_TYPE)
+                : new HashMap<>();
+
+        switch (path) {
+            case "/api/bag":
+                break;
+            case "/api/bag/add":
+                Optional<Map<String, Object>> product = findProduct(String.valueOf(body.get("productId")));
+                if (!product.isPresent()) {
+                    send(exchange, 404, "application/json", json.toJson(Map.of("error", "Unknown product")));
+                    return;
+                }
+                int quantity = body.containsKey("quantity") ? ((Number) body.get("quantity")).intValue() : 1;
+                cart.add(sessionId, product.get(), String.valueOf(body.get("size")), quantity);
+                break;
+            case "/api/bag/update":
+                cart.update(sessionId, String.valueOf(body.get("itemId")), ((Number) body.get("quantity")).intValue());
+                break;
+            case "/api/bag/remove":
+                cart.remove(sessionId, String.valueOf(body.get("itemId")));
+                break;
+            case "/api/bag/clear":
+                cart.clear(sessionId);
+                break;
+            default:
+                send(exchange, 404, "application/json", json.toJson(Map.of("error", "Unknown endpoint")));
+                return;
+        }
+        send(exchange, 200, "application/json", json.toJson(cart.view(sessionId)));
+    }
+
+    private String renderProductGrid(List<Map<String, Object>> products) {
+        StringBuilder html = new StringBuilder();
+        for (Map<String, Object> product : products) {
+            String id = escape(String.valueOf(product.get("id")));
+            String title = escape(String.valueOf(product.get("title")));
+            html.append("        <div data-testid=\"plp-product-grid-item\" data-product-url=\"/style/").append(id)
+                    .append("\">\n")
+                    .append("            <img data-testid=\"product_summary_image_").append(id)
+                    .append("\" src=\"/static/placeholder.svg\" alt=\"").append(title).append("\">\n")
+                    .append("            <p data-testid=\"product_summary_title\">").append(title).append("</p>\n")
+                    .append("            <p data-testid=\"product_summary_was_price\"><span>&pound;")
+                    .append(formatPrice(product.get("price"))).append("</span></p>\n")
+                    .append("        </div>\n");
+        }
+        return html.toString();
+    }
+
+    /**
+     * "women/dresses" becomes "Women's Dresses".
+     */
+    private static String categoryTitle(String category) {
+        String[] parts = category.split("/");
+        return capitalize(parts[0]) + "'s " + capitalize(parts[parts.length - 1]);
+    }
+
+    /**
+     * Reads the fixture session cookie, issuing a new one when the browser has
+     * none yet.
+     */
+    private String sessionOf(HttpExchange exchange) {
+        List<String> cookieHeaders = exchange.getRequestHeaders().get("Cookie");
+        if (cookieHeaders != null) {
+            for (String header : cookieHeaders) {
+                for (String cookie : header.split(";")) {
+                    String[] pair = cookie.trim().split("=", 2);
+                    if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                        return pair[1];
+                    }
+                }
+            }
+        }
+        String sessionId = UUID.randomUUID().toString();
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/");
+        return sessionId;
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts[0].equals(name)) {
+                return parts.length == 2 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "";
+            }
+        }
+        return null;
+    }
+
+    private void sendStatic(HttpExchange exchange, String fileName) throws IOException {
+        if (fileName.contains("..") || fileName.contains("/")) {
+            send(exchange, 404, "text/plain", "Not found: " + fileName);
+            return;
+        }
+        try (InputStream input = FixtureServer.class.getResourceAsStream(SITE_ROOT + fileName)) {
+            if (input == null) {
+                send(exchange, 404, "text/plain", "Not found: " + fileName);
+                return;
+            }
+            byte[] bytes = input.readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", contentTypeOf(fileName));
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static void sendHtml(HttpExchange exchange, String html) throws IOException {
+        send(exchange, 200, "text/html; charset=utf-8", html);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static String contentTypeOf(String fileName) {
+        if (fileName.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        if (fileName.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        }
+        if (fileName.endsWith(".svg")) {
+            return "image/svg+xml";
+        }
+        return "application/octet-stream";
+    }
+
+    private static String render(String template, Map<String, String> values) {
+        String result = template;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.replace("{{" + entry.getKey() + "}}", entry.getValue());
+        }
+        return result;
+    }
+
+    private static String readResource(String name) {
+        try (InputStream input = FixtureServer.class.getResourceAsStream(SITE_ROOT + name)) {
+            if (input == null) {
+                throw new RuntimeException("Fixture resource '" + name + "' not found in classpath");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading fixture resource: " + e.getMessage(), e);
+        }
+    }
+
+    private static String formatPrice(Object price) {
+        return String.format("%.2f", ((Number) price).doubleValue());
+    }
+
+    private static String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
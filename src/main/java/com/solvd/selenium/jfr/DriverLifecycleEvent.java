@@ -0,0 +1,39 @@
+package com.solvd.selenium.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A browser session operation driven by the test lifecycle: starting or
+ * leasing a driver, returning or quitting it, taking a screenshot.
+ */
+@Name("com.solvd.selenium.DriverLifecycle")
+@Label("Driver Lifecycle")
+@Category({ "Selenium", "Driver" })
+@Description("Browser session start, release, quit or screenshot")
+@StackTrace(false)
+public class DriverLifecycleEvent extends Event {
+
+    public static final String START = "start";
+    public static final String LEASE = "lease";
+    public static final String RELEASE = "release";
+    public static final String QUIT = "quit";
+    public static final String SCREENSHOT = "screenshot";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Browser")
+    public String browser;
+
+    @Label("Test")
+    public String test;
+
+    @Label("Outcome")
+    @Description("\"ok\" or the simple name of the exception the operation failed with")
+    public String outcome;
+}
@@ -0,0 +1,32 @@
+package com.solvd.selenium.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A page-object action such as a click or a text read.
+ */
+@Name("com.solvd.selenium.PageAction")
+@Label("Page Action")
+@Category({ "Selenium", "Page Objects" })
+@Description("Page-object action with its duration and outcome")
+@StackTrace(false)
+public class PageActionEvent extends Event {
+
+    @Label("Page")
+    public String page;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Locator")
+    public String locator;
+
+    @Label("Outcome")
+    @Description("\"ok\" or the simple name of the exception the action failed with")
+    public String outcome;
+}
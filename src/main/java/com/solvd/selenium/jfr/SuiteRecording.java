@@ -0,0 +1,101 @@
+package com.solvd.selenium.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * Flight recording spanning the whole suite, so page-action, wait and driver
+ * events can be read next to GC, lock contention and socket I/O. Started from
+ * {@code jfr.recording.enabled}; recordings started with
+ * {@code -XX:StartFlightRecording} pick up the same events without it.
+ */
+public class SuiteRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteRecording.class);
+
+    private static SuiteRecording instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private Recording recording;
+
+    // Private constructor for singleton pattern
+    private SuiteRecording() {
+    }
+
+    /**
+     * Get singleton instance of SuiteRecording
+     */
+    public static SuiteRecording getInstance() {
+        if (instance == null) {
+            synchronized (SuiteRecording.class) {
+                if (instance == null) {
+                    instance = new SuiteRecording();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the recording if enabled in config and not already running.
+     *
+     * @throws RuntimeException if the settings cannot be loaded or the
+     *                          recording cannot be started
+     */
+    public synchronized void start() {
+        if (!config.isJfrRecordingEnabled() || recording != null) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            logger.warn("Flight Recorder is not available in this JVM, suite will not be recorded");
+            return;
+        }
+
+        Path file = Paths.get(config.getJfrRecordingFile()).toAbsolutePath();
+        String settings = config.getJfrRecordingSettings();
+        try {
+            Files.createDirectories(file.getParent());
+            Configuration configuration = settings.endsWith(".jfc")
+                    ? Configuration.create(Paths.get(settings))
+                    : Configuration.getConfiguration(settings);
+            Recording suiteRecording = new Recording(configuration);
+            suiteRecording.setName("selenium-suite");
+            suiteRecording.setToDisk(true);
+            suiteRecording.setDestination(file);
+            suiteRecording.start();
+            recording = suiteRecording;
+            logger.info("Flight recording started with '{}' settings, will be written to {}", settings, file);
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException("Failed to start flight recording with settings '" + settings + "': "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stops the recording and writes it to {@code jfr.recording.file}.
+     */
+    public synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            recording.stop();
+            logger.info("Flight recording written to {}", recording.getDestination());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
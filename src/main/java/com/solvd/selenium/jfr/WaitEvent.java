@@ -0,0 +1,31 @@
+package com.solvd.selenium.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * An explicit wait, from the first condition check to its result.
+ */
+@Name("com.solvd.selenium.Wait")
+@Label("Explicit Wait")
+@Category({ "Selenium", "Waits" })
+@Description("Explicit wait with its condition, budget and outcome")
+@StackTrace(false)
+public class WaitEvent extends Event {
+
+    @Label("Condition")
+    public String condition;
+
+    @Label("Budget")
+    @Timespan(Timespan.MILLISECONDS)
+    public long budgetMillis;
+
+    @Label("Outcome")
+    @Description("\"satisfied\", \"timeout\" or the simple name of the exception the wait failed with")
+    public String outcome;
+}
@@ -0,0 +1,41 @@
+package com.solvd.selenium.listeners;
+
+/**
+ * What {@link CircuitBreakerListener} does with tests that start after it
+ * opened.
+ */
+public enum BreakerMode {
+
+    /**
+     * Tests are reported as skipped, with the open breaker as the reason.
+     */
+    SKIP("skip"),
+
+    /**
+     * Tests are reported as failed without running, e.g. for CI jobs that
+     * treat skips as success.
+     */
+    FAIL("fail");
+
+    private final String configValue;
+
+    BreakerMode(String configValue) {
+        this.configValue = configValue;
+    }
+
+    /**
+     * Parses the {@code circuit.breaker.mode} configuration value.
+     *
+     * @param value configuration value, e.g. "skip"
+     * @return matching mode
+     * @throws RuntimeException if the value is not a known mode
+     */
+    public static BreakerMode fromConfigValue(String value) {
+        for (BreakerMode mode : values()) {
+            if (mode.configValue.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new RuntimeException("Unknown circuit breaker mode '" + value + "', expected 'skip' or 'fail'");
+    }
+}
@@ -0,0 +1,184 @@
+package com.solvd.selenium.listeners;
+
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Failure tallies and open breakers shared by {@link CircuitBreakerListener}
+ * and test set-up. Each failure signature opens its own breaker, and a
+ * breaker only covers the tests that depend on what broke: tests that
+ * already failed with the signature, and tests that went through the
+ * signature's page object in an earlier run according to
+ * {@code circuit.breaker.history.file}.
+ * <p>
+ * Tests without recorded page usage, and failures thrown outside page
+ * objects, only short-circuit further invocations of the tests that failed.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private static CircuitBreaker instance;
+
+    private final boolean enabled;
+    private final int threshold;
+    private final PageUsageHistory pageUsage;
+    private final Map<FailureSignature, Tally> failures = new ConcurrentHashMap<>();
+    private final Map<FailureSignature, Trip> trips = new ConcurrentHashMap<>();
+
+    // Private constructor for singleton pattern
+    private CircuitBreaker() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.enabled = config.isCircuitBreakerEnabled();
+        this.threshold = Math.max(1, config.getCircuitBreakerFailureThreshold());
+        this.pageUsage = new PageUsageHistory(Paths.get(config.getCircuitBreakerHistoryFile()));
+    }
+
+    /**
+     * Get singleton instance of CircuitBreaker
+     */
+    public static CircuitBreaker getInstance() {
+        if (instance == null) {
+            synchronized (CircuitBreaker.class) {
+                if (instance == null) {
+                    instance = new CircuitBreaker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether a test method would be short-circuited if it started now, so
+     * set-up can leave the browser alone.
+     *
+     * @param testClass  class the test method runs in
+     * @param methodName name of the test method
+     * @return true if an open breaker covers the test
+     */
+    public boolean isOpenFor(Class<?> testClass, String methodName) {
+        return tripFor(testClass.getName() + "." + methodName).isPresent();
+    }
+
+    /**
+     * Closes all breakers and reloads the recorded page usage.
+     */
+    void reset() {
+        failures.clear();
+        trips.clear();
+        if (enabled) {
+            pageUsage.load();
+        }
+    }
+
+    /**
+     * Open breaker covering a test, if any.
+     *
+     * @param testName qualified name of the test method
+     */
+    Optional<Trip> tripFor(String testName) {
+        if (!enabled || trips.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> pages = pageUsage.pagesOf(testName);
+        return trips.values().stream()
+                .filter(trip -> trip.tests.contains(testName)
+                        || trip.signature.getPage() != null && pages.contains(trip.signature.getPage()))
+                .findFirst();
+    }
+
+    /**
+     * Counts a test failure and opens the breaker of its signature once it
+     * reaches the threshold.
+     *
+     * @param testName       qualified name of the failed test method
+     * @param failure        what it failed with
+     * @param durationMillis how long the failed test ran
+     */
+    void recordFailure(String testName, Throwable failure, long durationMillis) {
+        FailureSignature signature = FailureSignature.of(failure);
+        Tally tally = failures.computeIfAbsent(signature, key -> new Tally());
+        tally.tests.add(testName);
+        int count;
+        long totalMillis;
+        synchronized (tally) {
+            count = ++tally.count;
+            tally.totalMillis += durationMillis;
+            totalMillis = tally.totalMillis;
+        }
+        if (count >= threshold
+                && trips.putIfAbsent(signature, new Trip(signature, tally.tests, count, totalMillis / count)) == null) {
+            logger.warn("Circuit breaker opened after {} failures with {}, tests depending on {} will not run", count,
+                    signature, signature.getPage() != null ? signature.getPage() : "it");
+        }
+    }
+
+    /**
+     * Records the page objects a test went through in this run.
+     *
+     * @param testName qualified name of the test method
+     * @param pages    simple names of the page objects
+     * @param complete true if the test ran to the end
+     */
+    void recordPages(String testName, Collection<String> pages, boolean complete) {
+        if (enabled) {
+            pageUsage.record(testName, pages, complete);
+        }
+    }
+
+    void savePageUsage() {
+        if (enabled) {
+            pageUsage.save();
+        }
+    }
+
+    Collection<Trip> getTrips() {
+        return trips.values();
+    }
+
+    private static final class Tally {
+        private final Set<String> tests = ConcurrentHashMap.newKeySet();
+        private int count;
+        private long totalMillis;
+    }
+
+    static final class Trip {
+        private final FailureSignature signature;
+        // Live view: later failures with the signature are covered too
+        private final Set<String> tests;
+        private final int failures;
+        private final long averageMillis;
+
+        Trip(FailureSignature signature, Set<String> tests, int failures, long averageMillis) {
+            this.signature = signature;
+            this.tests = tests;
+            this.failures = failures;
+            this.averageMillis = averageMillis;
+        }
+
+        FailureSignature getSignature() {
+            return signature;
+        }
+
+        int getFailures() {
+            return failures;
+        }
+
+        long getAverageMillis() {
+            return averageMillis;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.solvd.selenium.listeners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.timing.StepSample;
+import com.solvd.selenium.timing.StepTimings;
+
+/**
+ * Stops a suite from sitting through the same timeout over and over. Failed
+ * tests are grouped by {@link FailureSignature} across all threads; once
+ * {@code circuit.breaker.failure.threshold} tests failed with one signature,
+ * e.g. because a page is down or one of its selectors broke, the breaker
+ * opens for the tests that depend on it (see {@link CircuitBreaker}). Those
+ * that have not started yet are skipped or failed immediately, naming the
+ * signature; unrelated tests and tests already running finish normally.
+ * <p>
+ * Test set-up asks {@link CircuitBreaker#isOpenFor} first, so no browser is
+ * started for a short-circuited test. The page objects every test went
+ * through are recorded when the suite ends, for the next run. The time saved
+ * is estimated from the average duration of the failures that opened each
+ * breaker and logged when the suite ends.
+ */
+public class CircuitBreakerListener implements IInvokedMethodListener, ISuiteListener {
+
+    /**
+     * Suite attribute holding the summary of the opened breakers.
+     */
+    public static final String SUITE_ATTRIBUTE = "circuitBreaker";
+
+    /**
+     * Result attribute naming the signature a test was short-circuited by.
+     */
+    public static final String RESULT_ATTRIBUTE = "circuitBreaker";
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerListener.class);
+
+    private final CircuitBreaker breaker = CircuitBreaker.getInstance();
+    private final BreakerMode mode = ConfigManager.getInstance().getCircuitBreakerMode();
+    private final AtomicInteger shortCircuited = new AtomicInteger();
+    private final AtomicLong savedMillis = new AtomicLong();
+
+    @Override
+    public void onStart(ISuite suite) {
+        breaker.reset();
+        shortCircuited.set(0);
+        savedMillis.set(0);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!breaker.isEnabled() || !method.isTestMethod()) {
+            return;
+        }
+        Optional<CircuitBreaker.Trip> open = breaker.tripFor(method.getTestMethod().getQualifiedName());
+        if (open.isEmpty()) {
+            return;
+        }
+        CircuitBreaker.Trip trip = open.get();
+        shortCircuited.incrementAndGet();
+        savedMillis.addAndGet(trip.getAverageMillis());
+        testResult.setAttribute(RESULT_ATTRIBUTE, trip.getSignature().toString());
+        String reason = String.format("Circuit breaker open: %d tests failed with %s", trip.getFailures(),
+                trip.getSignature());
+        if (mode == BreakerMode.SKIP) {
+            throw new SkipException(reason);
+        }
+        throw new RuntimeException(reason);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!breaker.isEnabled() || !method.isTestMethod() || testResult.getAttribute(RESULT_ATTRIBUTE) != null
+                || testResult.getStatus() != ITestResult.FAILURE || testResult.getThrowable() == null) {
+            return;
+        }
+        breaker.recordFailure(method.getTestMethod().getQualifiedName(), testResult.getThrowable(),
+                System.currentTimeMillis() - testResult.getStartMillis());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!breaker.isEnabled()) {
+            return;
+        }
+        recordPageUsage(suite);
+        breaker.savePageUsage();
+
+        if (breaker.getTrips().isEmpty()) {
+            return;
+        }
+        String trips = breaker.getTrips().stream()
+                .map(trip -> String.format("%s after %d failures", trip.getSignature(), trip.getFailures()))
+                .collect(Collectors.joining("; "));
+        String summary = String.format(
+                "Circuit breaker opened on %s; %d tests short-circuited, about %ds of test time saved",
+                trips, shortCircuited.get(), savedMillis.get() / 1000);
+        suite.setAttribute(SUITE_ATTRIBUTE, summary);
+        logger.warn(summary);
+    }
+
+    private void recordPageUsage(ISuite suite) {
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            List<ITestResult> results = new ArrayList<>();
+            results.addAll(context.getPassedTests().getAllResults());
+            results.addAll(context.getFailedTests().getAllResults());
+            results.addAll(context.getSkippedTests().getAllResults());
+
+            for (ITestResult result : results) {
+                Object attribute = result.getAttribute(StepTimings.RESULT_ATTRIBUTE);
+                if (!(attribute instanceof StepTimings) || result.getAttribute(RESULT_ATTRIBUTE) != null) {
+                    continue;
+                }
+                Set<String> pages = ((StepTimings) attribute).getSamples().stream()
+                        .map(StepSample::getPage)
+                        .collect(Collectors.toSet());
+                breaker.recordPages(result.getMethod().getQualifiedName(), pages,
+                        result.getStatus() == ITestResult.SUCCESS);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.solvd.selenium.listeners;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+
+/**
+ * Durations of earlier runs per test method, kept in a small JSON file.
+ * New measurements are blended with the stored value, so one slow run moves
+ * the estimate without replacing it.
+ */
+class DurationHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+
+    // Weight of the latest run in the stored estimate
+    private static final double LATEST_WEIGHT = 0.5;
+
+    private final Path file;
+    private final Map<String, Long> millis = new ConcurrentHashMap<>();
+
+    DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Replaces the in-memory estimates with the file's content. A missing or
+     * unreadable file leaves no estimates.
+     */
+    void load() {
+        millis.clear();
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(Files.readString(file), Json.MAP_TYPE);
+            stored.forEach((key, value) -> millis.put(key, ((Number) value).longValue()));
+            logger.info("Loaded {} test durations from {}", millis.size(), file.toAbsolutePath());
+        } catch (IOException | JsonException | ClassCastException e) {
+            logger.warn("Ignoring unreadable test duration history {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * History key of a test method; the same method is timed separately per
+     * suite, e.g. local and remote.
+     */
+    static String keyOf(String suiteName, ITestNGMethod method) {
+        return suiteName + ":" + method.getQualifiedName();
+    }
+
+    OptionalLong estimate(String key) {
+        Long value = millis.get(key);
+        return value != null ? OptionalLong.of(value) : OptionalLong.empty();
+    }
+
+    void record(String key, long durationMillis) {
+        millis.merge(key, durationMillis,
+                (previous, latest) -> Math.round(previous * (1 - LATEST_WEIGHT) + latest * LATEST_WEIGHT));
+    }
+
+    void save() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, new Json().toJson(new TreeMap<>(millis)).getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to save test durations to {}: {}", file, e.getMessage(), e);
+        }
+    }
+}
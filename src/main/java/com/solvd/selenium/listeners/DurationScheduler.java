@@ -0,0 +1,169 @@
+package com.solvd.selenium.listeners;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Orders test methods longest-first by their duration in earlier runs.
+ * With {@code parallel="methods"} TestNG hands the next method in this order
+ * to whichever thread frees up first, so the longest tests start early and
+ * short ones fill the gaps at the end, instead of one hand-written
+ * {@code <test>} block deciding the wall time.
+ * <p>
+ * Durations are stored in {@code scheduler.history.file} after each suite.
+ * Methods without history are assumed to take the median known duration, and
+ * a suite without any history keeps its declared order. The makespan
+ * predicted from history is logged next to the actual one for every
+ * {@code <test>}.
+ */
+public class DurationScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationScheduler.class);
+
+    private final boolean enabled;
+    private final DurationHistory history;
+    private final Map<String, Long> predictedMakespans = new ConcurrentHashMap<>();
+    private volatile String suiteName = "";
+
+    public DurationScheduler() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.enabled = config.isSchedulerEnabled();
+        this.history = new DurationHistory(Paths.get(config.getSchedulerHistoryFile()));
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteName = suite.getName();
+        predictedMakespans.clear();
+        if (enabled) {
+            history.load();
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!enabled || methods.size() < 2) {
+            return methods;
+        }
+        Map<IMethodInstance, Long> estimates = new HashMap<>();
+        List<Long> known = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            OptionalLong estimate = history.estimate(keyOf(method.getMethod()));
+            if (estimate.isPresent()) {
+                estimates.put(method, estimate.getAsLong());
+                known.add(estimate.getAsLong());
+            }
+        }
+        if (known.isEmpty()) {
+            logger.info("No duration history for {} yet, keeping the declared test order", context.getName());
+            return methods;
+        }
+        long median = known.stream().sorted().skip(known.size() / 2).findFirst().orElse(0L);
+        methods.forEach(method -> estimates.putIfAbsent(method, median));
+
+        // Stable sort: equal estimates keep their declared order
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparing(estimates::get).reversed());
+
+        int threads = threadsOf(context);
+        long predicted = makespan(ordered.stream().mapToLong(estimates::get), threads);
+        predictedMakespans.put(context.getName(), predicted);
+        logger.info("Scheduled {} methods of {} longest-first on {} threads, predicted makespan {}ms ({} without history)",
+                ordered.size(), context.getName(), threads, predicted, methods.size() - known.size());
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        if (!enabled) {
+            return;
+        }
+        List<ITestResult> results = new ArrayList<>();
+        results.addAll(context.getPassedTests().getAllResults());
+        results.addAll(context.getFailedTests().getAllResults());
+        results.addAll(context.getSkippedTests().getAllResults());
+        if (results.isEmpty()) {
+            return;
+        }
+        long start = results.stream().mapToLong(ITestResult::getStartMillis).min().getAsLong();
+        long end = results.stream().mapToLong(ITestResult::getEndMillis).max().getAsLong();
+        Long predicted = predictedMakespans.get(context.getName());
+        logger.info("Makespan of {}: predicted {}, actual {}ms", context.getName(),
+                predicted != null ? predicted + "ms" : "n/a", end - start);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (enabled) {
+            history.save();
+        }
+    }
+
+    private void record(ITestResult result) {
+        if (enabled) {
+            history.record(keyOf(result.getMethod()), result.getEndMillis() - result.getStartMillis());
+        }
+    }
+
+    private String keyOf(ITestNGMethod method) {
+        return DurationHistory.keyOf(suiteName, method);
+    }
+
+    private static int threadsOf(ITestContext context) {
+        XmlSuite.ParallelMode parallel = context.getCurrentXmlTest().getParallel();
+        if (parallel == null || !parallel.isParallel()) {
+            return 1;
+        }
+        return Math.max(1, context.getCurrentXmlTest().getThreadCount());
+    }
+
+    /**
+     * Finish time of the last method when each method, in order, goes to the
+     * thread that frees up first.
+     */
+    static long makespan(LongStream durations, int threads) {
+        PriorityQueue<Long> threadLoads = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            threadLoads.add(0L);
+        }
+        durations.forEach(duration -> threadLoads.add(threadLoads.poll() + duration));
+        return threadLoads.stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+}
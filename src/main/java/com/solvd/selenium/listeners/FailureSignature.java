@@ -0,0 +1,149 @@
+package com.solvd.selenium.listeners;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.solvd.selenium.pages.BasePage;
+
+/**
+ * What a failure looks like independent of the test it happened in: the
+ * exception type, the locator named in its message and the page-object
+ * method it was thrown from. Tests failing on the same broken page element or
+ * on an unreachable site share a signature.
+ */
+public final class FailureSignature {
+
+    private static final String PAGES_PACKAGE = "com.solvd.selenium.pages.";
+    private static final String BASE_PAGE = BasePage.class.getName();
+    private static final String PROJECT_PACKAGE = "com.solvd.selenium.";
+    private static final String NO_LOCATOR = "-";
+
+    // By.toString(), a decorated element's "-> css selector: x]" and a NoSuchElement "selector" field
+    private static final Pattern[] LOCATOR_PATTERNS = {
+            Pattern.compile("(By\\.\\w+: [^\\]\\)'\\n]+)"),
+            Pattern.compile("-> ((?:css selector|xpath|id|name|link text|partial link text|tag name|class name): [^\\]\\n]+)\\]"),
+            Pattern.compile("\"selector\":\"([^\"]+)\"") };
+
+    private final String exceptionType;
+    private final String locator;
+    private final String location;
+    private final String page;
+
+    FailureSignature(String exceptionType, String locator, String location, String page) {
+        this.exceptionType = exceptionType;
+        this.locator = locator;
+        this.location = location;
+        this.page = page;
+    }
+
+    /**
+     * Derives the signature of a test failure.
+     *
+     * @param failure what the test failed with
+     * @return its signature
+     */
+    public static FailureSignature of(Throwable failure) {
+        StackTraceElement frame = locationOf(failure);
+        return new FailureSignature(failure.getClass().getSimpleName(), locatorOf(failure),
+                frame != null ? simpleName(frame) + "." + frame.getMethodName() : "unknown", pageOf(failure));
+    }
+
+    public String getExceptionType() {
+        return exceptionType;
+    }
+
+    /**
+     * Locator named in the failure message, "-" if there is none.
+     */
+    public String getLocator() {
+        return locator;
+    }
+
+    /**
+     * Page-object method the failure was thrown from, or the first project
+     * method if it did not come from a page.
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Simple name of the page object the failure was thrown from, the same
+     * name step timings use, or null if it did not come from a page.
+     */
+    public String getPage() {
+        return page;
+    }
+
+    private static String locatorOf(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message == null) {
+                continue;
+            }
+            for (Pattern pattern : LOCATOR_PATTERNS) {
+                Matcher matcher = pattern.matcher(message);
+                if (matcher.find()) {
+                    return matcher.group(1).trim();
+                }
+            }
+        }
+        return NO_LOCATOR;
+    }
+
+    private static StackTraceElement locationOf(Throwable failure) {
+        StackTraceElement projectFrame = null;
+        for (StackTraceElement frame : failure.getStackTrace()) {
+            if (frame.getClassName().startsWith(PAGES_PACKAGE)) {
+                return frame;
+            }
+            if (projectFrame == null && frame.getClassName().startsWith(PROJECT_PACKAGE)) {
+                projectFrame = frame;
+            }
+        }
+        return projectFrame;
+    }
+
+    // BasePage wraps and rethrows most element failures; the page is the subclass that called it
+    private static String pageOf(Throwable failure) {
+        for (StackTraceElement frame : failure.getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(PAGES_PACKAGE) && !className.equals(BASE_PAGE)
+                    && !className.startsWith(BASE_PAGE + "$")) {
+                String page = simpleName(frame);
+                int nested = page.indexOf('$');
+                return nested < 0 ? page : page.substring(0, nested);
+            }
+        }
+        return null;
+    }
+
+    private static String simpleName(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FailureSignature)) {
+            return false;
+        }
+        FailureSignature other = (FailureSignature) o;
+        return exceptionType.equals(other.exceptionType) && locator.equals(other.locator)
+                && location.equals(other.location);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(exceptionType, locator, location);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s at %s [%s]", exceptionType, location, locator);
+    }
+}
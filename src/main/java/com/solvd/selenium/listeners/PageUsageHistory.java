@@ -0,0 +1,100 @@
+package com.solvd.selenium.listeners;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Page objects each test method went through in earlier runs, kept in a
+ * small JSON file. A test that passed replaces its entry; a test that failed
+ * or was skipped part-way only adds the pages it reached.
+ */
+class PageUsageHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageUsageHistory.class);
+
+    private final Path file;
+    private final Map<String, Set<String>> pages = new ConcurrentHashMap<>();
+
+    PageUsageHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Replaces the in-memory page sets with the file's content. A missing or
+     * unreadable file leaves none.
+     */
+    void load() {
+        pages.clear();
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(Files.readString(file), Json.MAP_TYPE);
+            stored.forEach((key, value) -> pages.put(key, toStrings((List<?>) value)));
+            logger.info("Loaded page usage of {} tests from {}", pages.size(), file.toAbsolutePath());
+        } catch (IOException | JsonException | ClassCastException e) {
+            logger.warn("Ignoring unreadable page usage history {}: {}", file, e.getMessage());
+        }
+    }
+
+    Set<String> pagesOf(String key) {
+        return pages.getOrDefault(key, Collections.emptySet());
+    }
+
+    /**
+     * Records the pages a test went through.
+     *
+     * @param key      qualified name of the test method
+     * @param used     simple names of the page objects
+     * @param complete true if the test ran to the end, so pages it no longer
+     *                 uses can be forgotten
+     */
+    void record(String key, Collection<String> used, boolean complete) {
+        if (complete) {
+            pages.put(key, new TreeSet<>(used));
+        } else if (!used.isEmpty()) {
+            pages.merge(key, new TreeSet<>(used), (previous, latest) -> {
+                Set<String> merged = new TreeSet<>(previous);
+                merged.addAll(latest);
+                return merged;
+            });
+        }
+    }
+
+    void save() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, new Json().toJson(new TreeMap<>(pages)).getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to save page usage to {}: {}", file, e.getMessage(), e);
+        }
+    }
+
+    private static Set<String> toStrings(List<?> values) {
+        Set<String> strings = new TreeSet<>();
+        values.forEach(value -> strings.add((String) value));
+        return strings;
+    }
+}
@@ -0,0 +1,65 @@
+package com.solvd.selenium.listeners;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.OptionalLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.shard.Shard;
+
+/**
+ * Runs only this JVM's part of each {@code <test>} when {@code shard} is set,
+ * e.g. {@code -Dshard=2/4} on the second of four CI agents. Methods are dealt
+ * by name, or by their recorded durations with {@code shard.weighted=true};
+ * weighted shards only line up if every agent reads the same
+ * {@code scheduler.history.file}. Methods of other shards are not reported
+ * at all, merge the shards' reports with
+ * {@link com.solvd.selenium.shard.ShardReportMerger}.
+ * <p>
+ * Register before {@link DurationScheduler} so it orders this shard's methods
+ * only.
+ */
+public class ShardFilter implements IMethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardFilter.class);
+
+    private final Shard shard;
+    private final boolean weighted;
+    private final DurationHistory history;
+
+    public ShardFilter() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.shard = config.getShard();
+        this.weighted = config.isShardWeighted();
+        this.history = new DurationHistory(Paths.get(config.getSchedulerHistoryFile()));
+        if (!shard.isAll() && weighted) {
+            history.load();
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (shard.isAll()) {
+            return methods;
+        }
+        String suiteName = context.getSuite().getName();
+        List<IMethodInstance> selected = shard.select(methods,
+                method -> method.getMethod().getQualifiedName(),
+                method -> weighted ? weightOf(suiteName, method) : 1);
+        logger.info("Shard {} of {} runs {} of {} methods{}", shard, context.getName(), selected.size(),
+                methods.size(), weighted ? " (weighted by duration history)" : "");
+        return selected;
+    }
+
+    private long weightOf(String suiteName, IMethodInstance method) {
+        OptionalLong estimate = history.estimate(DurationHistory.keyOf(suiteName, method.getMethod()));
+        // Unknown methods weigh the same on every shard, keeping the split deterministic
+        return estimate.orElse(0);
+    }
+}
@@ -0,0 +1,132 @@
+package com.solvd.selenium.listeners;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import com.solvd.selenium.timing.DurationHistogram;
+import com.solvd.selenium.timing.StepSample;
+import com.solvd.selenium.timing.StepTimings;
+
+/**
+ * Writes {@code step-timings.json} to the TestNG output directory: every
+ * test's measured page-object steps plus a latency histogram per
+ * {@code Page.action}, so runs can be compared by tooling rather than by
+ * reading logs.
+ */
+public class StepTimingReporter implements IReporter {
+
+    public static final String REPORT_FILE = "step-timings.json";
+
+    private static final Logger logger = LoggerFactory.getLogger(StepTimingReporter.class);
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        List<Map<String, Object>> tests = new ArrayList<>();
+
+        for (ISuite suite : suites) {
+            for (ISuiteResult suiteResult : suite.getResults().values()) {
+                ITestContext context = suiteResult.getTestContext();
+                List<ITestResult> results = new ArrayList<>();
+                results.addAll(context.getPassedTests().getAllResults());
+                results.addAll(context.getFailedTests().getAllResults());
+                results.addAll(context.getSkippedTests().getAllResults());
+
+                for (ITestResult result : results) {
+                    Object attribute = result.getAttribute(StepTimings.RESULT_ATTRIBUTE);
+                    if (!(attribute instanceof StepTimings)) {
+                        continue;
+                    }
+                    tests.add(describe(suite, context, result, (StepTimings) attribute));
+                }
+            }
+        }
+
+        if (tests.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> report = summarize(tests);
+        Path reportFile = Paths.get(outputDirectory, REPORT_FILE);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.write(reportFile, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            logger.info("Step timings for {} tests written to {}", tests.size(), reportFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write step timings to {}: {}", reportFile, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the report for tests described as in {@code step-timings.json},
+     * e.g. the tests of several shards read back from their reports.
+     *
+     * @param tests entries of the report's {@code tests} list
+     * @return the report with histograms computed over all given tests
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> summarize(List<Map<String, Object>> tests) {
+        Map<String, DurationHistogram> byStep = new TreeMap<>();
+        DurationHistogram byTest = new DurationHistogram();
+        for (Map<String, Object> test : tests) {
+            byTest.record(((Number) test.get("durationMillis")).doubleValue());
+            for (Map<String, Object> step : (List<Map<String, Object>>) test.get("steps")) {
+                byStep.computeIfAbsent(step.get("page") + "." + step.get("action"), key -> new DurationHistogram())
+                        .record(((Number) step.get("wallMicros")).doubleValue() / 1000.0);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("testDurations", byTest.toJson());
+        report.put("steps", byStep.entrySet().stream().collect(Collectors.toMap(
+                Map.Entry::getKey, entry -> entry.getValue().toJson(), (a, b) -> a, LinkedHashMap::new)));
+        report.put("tests", tests);
+        return report;
+    }
+
+    private static Map<String, Object> describe(ISuite suite, ITestContext context, ITestResult result,
+            StepTimings timings) {
+        Map<String, Object> test = new LinkedHashMap<>();
+        test.put("suite", suite.getName());
+        test.put("test", context.getName());
+        test.put("method", result.getTestClass().getRealClass().getSimpleName() + "." + result.getName());
+        test.put("status", statusOf(result));
+        test.put("durationMillis", result.getEndMillis() - result.getStartMillis());
+        test.put("pageObjectMillis", timings.getTopLevelMillis());
+        test.put("waitMillis", timings.getTopLevelWaitMillis());
+        test.put("commands", timings.getTopLevelCommands());
+        test.put("steps", timings.getSamples().stream().map(StepSample::toJson).collect(Collectors.toList()));
+        return test;
+    }
+
+    private static String statusOf(ITestResult result) {
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS:
+                return "passed";
+            case ITestResult.FAILURE:
+                return "failed";
+            case ITestResult.SKIP:
+                return "skipped";
+            default:
+                return "unknown";
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.solvd.selenium.listeners;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.IThreadWorkerFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+
+import com.solvd.selenium.threads.ThreadMode;
+import com.solvd.selenium.threads.Threads;
+
+/**
+ * Runs TestNG's suite and test-method workers in the configured
+ * {@code threads.mode}. Scheduling is TestNG's own; only the threads are
+ * swapped, so with virtual threads {@code thread-count} still caps how many
+ * tests run at once but no longer costs an OS thread per test.
+ * <p>
+ * Surefire has no setting for TestNG's executor factory, so under
+ * {@code mvn test} TestNG's workers stay on platform threads; this only takes
+ * effect when TestNG is started directly with
+ * {@code -threadpoolfactoryclass com.solvd.selenium.listeners.ThreadModeExecutorFactory}.
+ */
+public class ThreadModeExecutorFactory implements IExecutorFactory {
+
+    private final IExecutorFactory delegate = new DefaultThreadPoolExecutorFactory();
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+            IThreadWorkerFactory<ISuite> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+            TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+        return withThreadMode(name, delegate.newSuiteExecutor(name, graph, factory, corePoolSize,
+                maximumPoolSize, keepAliveTime, unit, workQueue, comparator));
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+            IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+            TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ITestNGMethod> comparator) {
+        return withThreadMode(name, delegate.newTestMethodExecutor(name, graph, factory, corePoolSize,
+                maximumPoolSize, keepAliveTime, unit, workQueue, comparator));
+    }
+
+    private static ITestNGThreadPoolExecutor withThreadMode(String name, ITestNGThreadPoolExecutor executor) {
+        if (Threads.getMode() == ThreadMode.VIRTUAL && executor instanceof ThreadPoolExecutor) {
+            // Same names as TestNG's own workers, e.g. TestNG-test=AllTests-1
+            ((ThreadPoolExecutor) executor).setThreadFactory(Threads.newFactory("TestNG-" + name));
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,178 @@
+package com.solvd.selenium.navigation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Remembers which URL a category / sub-category menu entry leads to, so tests
+ * can open a category page directly instead of hovering through the menu.
+ * <p>
+ * Mappings are learned from the menu DOM once per suite and from every
+ * completed hover navigation, stored relative to {@code base.url}, and kept in
+ * an on-disk cache per host. Hover navigations overwrite what they learn, so
+ * the menu tests keep the cache current.
+ */
+public class CategoryUrlResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryUrlResolver.class);
+
+    private static CategoryUrlResolver instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final boolean enabled;
+    private final Path cacheFile;
+    private final String baseUrl;
+    private final String host;
+    private final Properties mappings;
+    private final AtomicBoolean menuScanned = new AtomicBoolean();
+
+    // Private constructor for singleton pattern
+    private CategoryUrlResolver() {
+        this.enabled = config.isNavigationDeepLinkEnabled();
+        this.cacheFile = Paths.get(config.getNavigationUrlCacheFile());
+        this.baseUrl = config.getBaseUrl();
+        this.host = URI.create(baseUrl).getHost();
+        this.mappings = readCache();
+    }
+
+    /**
+     * Get singleton instance of CategoryUrlResolver
+     */
+    public static CategoryUrlResolver getInstance() {
+        if (instance == null) {
+            synchronized (CategoryUrlResolver.class) {
+                if (instance == null) {
+                    instance = new CategoryUrlResolver();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param category    main menu category, e.g. "Women"
+     * @param subCategory menu link title, e.g. "All Dresses"
+     * @return the category page path relative to {@code base.url}, if known
+     */
+    public Optional<String> resolve(String category, String subCategory) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (mappings) {
+            return Optional.ofNullable(mappings.getProperty(keyFor(category, subCategory)));
+        }
+    }
+
+    /**
+     * Records where a menu entry leads. URLs outside {@code base.url} are
+     * ignored because they cannot be opened relative to it.
+     *
+     * @param url absolute URL of the category page
+     */
+    public void learn(String category, String subCategory, String url) {
+        if (learnWithoutSaving(category, subCategory, url)) {
+            writeCache();
+        }
+    }
+
+    /**
+     * Claims the once-per-suite menu scan.
+     *
+     * @return true for the first caller only
+     */
+    public boolean claimMenuScan() {
+        return enabled && menuScanned.compareAndSet(false, true);
+    }
+
+    /**
+     * Records every link read from the menu DOM.
+     *
+     * @param menu category name to (link title to absolute URL)
+     */
+    public void learnFromMenu(Map<String, Map<String, String>> menu) {
+        int learned = 0;
+        for (Map.Entry<String, Map<String, String>> category : menu.entrySet()) {
+            for (Map.Entry<String, String> link : category.getValue().entrySet()) {
+                if (learnWithoutSaving(category.getKey(), link.getKey(), link.getValue())) {
+                    learned++;
+                }
+            }
+        }
+        if (learned > 0) {
+            writeCache();
+        }
+        logger.info("Learned {} category URLs from the menu", learned);
+    }
+
+    private boolean learnWithoutSaving(String category, String subCategory, String url) {
+        if (!enabled || url == null || !url.startsWith(baseUrl)) {
+            return false;
+        }
+        String relativePath = url.substring(baseUrl.length());
+        String key = keyFor(category, subCategory);
+        synchronized (mappings) {
+            if (relativePath.equals(mappings.getProperty(key))) {
+                return false;
+            }
+            mappings.setProperty(key, relativePath);
+        }
+        logger.debug("Category URL learned: {} > {} -> {}", category, subCategory, relativePath);
+        return true;
+    }
+
+    private String keyFor(String category, String subCategory) {
+        return host + "|" + category.trim().toLowerCase(Locale.ROOT) + "|" + subCategory.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Properties readCache() {
+        Properties cache = new Properties();
+        if (Files.exists(cacheFile)) {
+            try (InputStream input = Files.newInputStream(cacheFile)) {
+                cache.load(input);
+            } catch (IOException e) {
+                logger.warn("Failed to read category URL cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Writes through a temp file and an atomic rename so parallel JVMs never see
+     * a half-written cache.
+     */
+    private void writeCache() {
+        try {
+            Path parent = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "category-urls", ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                synchronized (mappings) {
+                    mappings.store(output, "Category menu entry -> URL relative to base.url");
+                }
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write category URL cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.solvd.selenium.network;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP response as stored in the {@link NetworkArchive}: status, end-to-end
+ * headers and the raw (still content-encoded) body.
+ */
+public class ArchivedResponse {
+
+    private final int status;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    public ArchivedResponse(int status, Map<String, List<String>> headers, byte[] body) {
+        this.status = status;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return true if the response sets cookies, i.e. belongs to one browser
+     *         session and must not be replayed to another
+     */
+    public boolean setsCookies() {
+        return headers.keySet().stream().anyMatch(name -> name.equalsIgnoreCase("Set-Cookie"));
+    }
+}
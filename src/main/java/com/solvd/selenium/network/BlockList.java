@@ -0,0 +1,71 @@
+package com.solvd.selenium.network;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * URL block-list with allow-list exceptions. Patterns use the DevTools
+ * wildcard syntax: {@code *} matches any run of characters and {@code ?} a
+ * single character, so the same strings can be handed to Chrome's
+ * {@code Fetch.enable}.
+ */
+public class BlockList {
+
+    private final List<String> blockPatterns;
+    private final List<Pattern> blocked;
+    private final List<Pattern> allowed;
+
+    public BlockList(List<String> blockPatterns, List<String> allowPatterns) {
+        this.blockPatterns = List.copyOf(blockPatterns);
+        this.blocked = compile(blockPatterns);
+        this.allowed = compile(allowPatterns);
+    }
+
+    /**
+     * @return true if the URL matches a block pattern and no allow pattern
+     */
+    public boolean isBlocked(String url) {
+        return matchesAny(blocked, url) && !matchesAny(allowed, url);
+    }
+
+    public List<String> getBlockPatterns() {
+        return blockPatterns;
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(List<String> wildcards) {
+        return wildcards.stream()
+                .map(BlockList::toRegex)
+                .map(Pattern::compile)
+                .collect(Collectors.toList());
+    }
+
+    private static String toRegex(String wildcard) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : wildcard.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return regex.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.solvd.selenium.network;
+
+/**
+ * Requests blocked by the {@link ResourceBlocker} and the bytes they would
+ * have transferred. Sizes come from the network archive, so requests that were
+ * never recorded are counted but add no bytes.
+ */
+public class BlockedTrafficStats {
+
+    private int requests;
+    private int unsizedRequests;
+    private long bytes;
+
+    synchronized void record(long size) {
+        requests++;
+        if (size < 0) {
+            unsizedRequests++;
+        } else {
+            bytes += size;
+        }
+    }
+
+    public synchronized BlockedTrafficStats snapshot() {
+        BlockedTrafficStats copy = new BlockedTrafficStats();
+        copy.requests = requests;
+        copy.unsizedRequests = unsizedRequests;
+        copy.bytes = bytes;
+        return copy;
+    }
+
+    /**
+     * Traffic blocked since an earlier snapshot of the same stats.
+     */
+    public synchronized BlockedTrafficStats since(BlockedTrafficStats start) {
+        BlockedTrafficStats delta = new BlockedTrafficStats();
+        delta.requests = requests - start.requests;
+        delta.unsizedRequests = unsizedRequests - start.unsizedRequests;
+        delta.bytes = bytes - start.bytes;
+        return delta;
+    }
+
+    public synchronized int getRequests() {
+        return requests;
+    }
+
+    /**
+     * Blocked requests whose size is unknown because they were never archived.
+     */
+    public synchronized int getUnsizedRequests() {
+        return unsizedRequests;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("blocked %d requests, saved %d KB (%d of unknown size)",
+                requests, bytes / 1024, unsizedRequests);
+    }
+}
@@ -0,0 +1,203 @@
+package com.solvd.selenium.network;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Content-addressed on-disk store of recorded HTTP responses.
+ *
+ * <ul>
+ * <li>{@code bodies/<sha256>} - response bodies, named by the hash of their
+ * content so a font or bundle served from many URLs is stored once</li>
+ * <li>{@code entries/<sha256>.json} - one entry per request (method, URL and
+ * request body hash), pointing at its status, headers and body</li>
+ * </ul>
+ *
+ * Requests are not keyed by cookies or session, so a recorded response is
+ * served to every session. Responses that set cookies are therefore not
+ * stored; their entry only marks the request as live, to be fetched from the
+ * network on every replay.
+ *
+ * Files are written through a temp file and an atomic rename, so parallel
+ * threads and JVMs recording into the same archive never see partial files.
+ */
+public class NetworkArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkArchive.class);
+
+    private static final Type HEADERS_TYPE = new TypeToken<Map<String, List<String>>>() {
+    }.getType();
+
+    private final Json json = new Json();
+    private final Path bodiesDirectory;
+    private final Path entriesDirectory;
+    private final Map<String, Map<String, Object>> entries = new ConcurrentHashMap<>();
+
+    public NetworkArchive(Path directory) {
+        this.bodiesDirectory = directory.resolve("bodies");
+        this.entriesDirectory = directory.resolve("entries");
+        try {
+            Files.createDirectories(bodiesDirectory);
+            Files.createDirectories(entriesDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create network archive at " + directory, e);
+        }
+    }
+
+    /**
+     * Looks up the recorded response for a request.
+     *
+     * @param method      HTTP method
+     * @param url         absolute request URL
+     * @param requestBody request body, empty for none
+     * @return the recorded response, or empty if the request was never recorded
+     */
+    public Optional<ArchivedResponse> find(String method, String url, byte[] requestBody) {
+        String key = requestKey(method, url, requestBody);
+        Map<String, Object> entry = entries.computeIfAbsent(key, this::readEntry);
+        if (entry == null || Boolean.TRUE.equals(entry.get("live"))) {
+            return Optional.empty();
+        }
+        try {
+            byte[] body = Files.readAllBytes(bodiesDirectory.resolve((String) entry.get("bodyHash")));
+            Map<String, List<String>> headers = json.toType(json.toJson(entry.get("headers")), HEADERS_TYPE);
+            ArchivedResponse response = new ArchivedResponse(((Number) entry.get("status")).intValue(), headers,
+                    body);
+            // Recorded before cookie-setting responses were kept out of the archive
+            return response.setsCookies() ? Optional.empty() : Optional.of(response);
+        } catch (IOException e) {
+            logger.warn("Archived body missing for {} {}: {}", method, url, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether a request was recorded as one to fetch live on every replay,
+     * because its response set cookies.
+     *
+     * @param method      HTTP method
+     * @param url         absolute request URL
+     * @param requestBody request body, empty for none
+     * @return true if the request must not be served from the archive
+     */
+    public boolean isLive(String method, String url, byte[] requestBody) {
+        Map<String, Object> entry = entries.computeIfAbsent(requestKey(method, url, requestBody), this::readEntry);
+        if (entry == null) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(entry.get("live"))) {
+            return true;
+        }
+        Map<String, List<String>> headers = json.toType(json.toJson(entry.get("headers")), HEADERS_TYPE);
+        return headers.keySet().stream().anyMatch(name -> name.equalsIgnoreCase("Set-Cookie"));
+    }
+
+    /**
+     * Size of the recorded body for a bodiless request, without reading it.
+     *
+     * @return body size in bytes, or -1 if the request was never recorded
+     */
+    public long bodySize(String method, String url) {
+        Map<String, Object> entry = entries.computeIfAbsent(requestKey(method, url, new byte[0]), this::readEntry);
+        if (entry == null || Boolean.TRUE.equals(entry.get("live"))) {
+            return -1;
+        }
+        try {
+            return Files.size(bodiesDirectory.resolve((String) entry.get("bodyHash")));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Records a response, replacing any earlier recording of the same request.
+     * A response that sets cookies is not stored; the request is marked live
+     * instead.
+     */
+    public void store(String method, String url, byte[] requestBody, ArchivedResponse response) {
+        boolean live = response.setsCookies();
+        String bodyHash = live ? null : sha256(response.getBody());
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("method", method);
+        entry.put("url", url);
+        entry.put("requestBodyHash", requestBody.length == 0 ? null : sha256(requestBody));
+        if (live) {
+            entry.put("live", true);
+        } else {
+            entry.put("status", response.getStatus());
+            entry.put("headers", response.getHeaders());
+            entry.put("bodyHash", bodyHash);
+        }
+        entry.put("recordedAt", Instant.now().toString());
+
+        String key = requestKey(method, url, requestBody);
+        try {
+            Path body = live ? null : bodiesDirectory.resolve(bodyHash);
+            if (body != null && !Files.exists(body)) {
+                writeAtomically(body, response.getBody());
+            }
+            writeAtomically(entriesDirectory.resolve(key + ".json"),
+                    json.toJson(entry).getBytes(StandardCharsets.UTF_8));
+            entries.put(key, entry);
+        } catch (IOException e) {
+            logger.warn("Failed to archive {} {}: {}", method, url, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> readEntry(String key) {
+        Path file = entriesDirectory.resolve(key + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return json.toType(Files.readString(file), Json.MAP_TYPE);
+        } catch (IOException e) {
+            logger.warn("Failed to read archive entry {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "archive", ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String requestKey(String method, String url, byte[] requestBody) {
+        String key = method + " " + url;
+        if (requestBody.length > 0) {
+            key += " " + sha256(requestBody);
+        }
+        return sha256(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.solvd.selenium.network;
+
+/**
+ * How browser traffic is routed through the {@link RecordReplayProxy}.
+ */
+public enum NetworkMode {
+
+    /**
+     * No proxy, browsers talk to the network directly.
+     */
+    OFF("off"),
+
+    /**
+     * Every request goes to the network and its response overwrites the
+     * archived one. Use to refresh an archive.
+     */
+    RECORD("record"),
+
+    /**
+     * Archived responses are served locally; requests missing from the archive
+     * go to the network once and are recorded.
+     */
+    REPLAY("replay"),
+
+    /**
+     * Only archived responses are served. Unrecorded requests get a 504 and are
+     * reported as failures at the end of the suite.
+     */
+    STRICT_REPLAY("strict-replay");
+
+    private final String configValue;
+
+    NetworkMode(String configValue) {
+        this.configValue = configValue;
+    }
+
+    /**
+     * Parses the {@code network.mode} configuration value.
+     *
+     * @param value configuration value, e.g. "replay"
+     * @return matching mode
+     * @throws RuntimeException if the value is not a known mode
+     */
+    public static NetworkMode fromConfigValue(String value) {
+        for (NetworkMode mode : values()) {
+            if (mode.configValue.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new RuntimeException(
+                "Unknown network mode '" + value + "', expected 'off', 'record', 'replay' or 'strict-replay'");
+    }
+}
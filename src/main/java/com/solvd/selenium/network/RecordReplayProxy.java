@@ -0,0 +1,526 @@
+package com.solvd.selenium.network;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.threads.Threads;
+
+/**
+ * Local HTTP(S) proxy that records browser traffic into a {@link NetworkArchive}
+ * and serves it back on later runs, so tests stop re-downloading fonts, images,
+ * bundles and tracking scripts and timings become reproducible.
+ * <p>
+ * Recordings are shared by all sessions. URLs matching
+ * {@code network.archive.exclude.patterns}, such as the bag and cart API, and
+ * responses that set cookies are always fetched from the network, so tests
+ * that build their own cart state see it.
+ * <p>
+ * HTTPS is intercepted: CONNECT tunnels are terminated with a self-signed
+ * certificate generated once into the archive directory, which browsers accept
+ * because the factory starts them with {@code acceptInsecureCerts}. Upstream
+ * requests are made with the JDK HTTP client and bodies are stored exactly as
+ * received, including their content encoding. WebSocket upgrades are not
+ * supported and are answered with 501.
+ * <p>
+ * The proxy also enforces the {@link ResourceBlocker} block-list for browsers
+ * without in-browser blocking. With {@code network.mode=off} it then only
+ * forwards and blocks, without touching the archive.
+ */
+public class RecordReplayProxy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordReplayProxy.class);
+
+    private static final String KEYSTORE_FILE = "proxy-tls.p12";
+    private static final String KEYSTORE_PASSWORD = "record-replay";
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int SOCKET_TIMEOUT_MILLIS = 60_000;
+
+    // Hop-by-hop headers, plus those the proxy recomputes itself
+    private static final Set<String> NON_FORWARDED_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-connection", "proxy-authorization", "proxy-authenticate",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length", "host", "expect");
+
+    private static RecordReplayProxy instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final NetworkMode mode;
+    private final Path archiveDirectory;
+    private final NetworkArchive archive;
+    // Session-specific URLs, kept out of the archive with the block-list's wildcard matching
+    private final BlockList archiveExclusions;
+    private final ResourceBlocker resourceBlocker = ResourceBlocker.getInstance();
+    private final Set<String> unrecordedRequests = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger replayed = new AtomicInteger();
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+    private SSLSocketFactory tlsSocketFactory;
+    private HttpClient httpClient;
+
+    // Private constructor for singleton pattern
+    private RecordReplayProxy() {
+        this.mode = config.getNetworkMode();
+        this.archiveDirectory = Paths.get(config.getNetworkArchiveDirectory());
+        this.archive = mode == NetworkMode.OFF ? null : new NetworkArchive(archiveDirectory);
+        this.archiveExclusions = new BlockList(config.getNetworkArchiveExcludePatterns(), List.of());
+    }
+
+    /**
+     * Get singleton instance of RecordReplayProxy
+     */
+    public static RecordReplayProxy getInstance() {
+        if (instance == null) {
+            synchronized (RecordReplayProxy.class) {
+                if (instance == null) {
+                    instance = new RecordReplayProxy();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the proxy on {@code network.proxy.port}. Calling it while running is
+     * a no-op, so every driver factory call may ensure it is up.
+     */
+    public synchronized void start() {
+        if (serverSocket != null) {
+            return;
+        }
+        int port = config.getNetworkProxyPort();
+        try {
+            tlsSocketFactory = createTlsContext().getSocketFactory();
+            serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start record/replay proxy on port " + port, e);
+        }
+        executor = Threads.newPerTaskExecutor("record-replay-proxy");
+        httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        ServerSocket listening = serverSocket;
+        executor.execute(() -> acceptConnections(listening));
+        logger.info("Record/replay proxy started at {} - Mode: {}, Archive: {}",
+                getAddress(), mode, archiveDirectory.toAbsolutePath());
+    }
+
+    public synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.debug("Error closing proxy socket: {}", e.getMessage());
+        }
+        executor.shutdownNow();
+        serverSocket = null;
+        logger.info("Record/replay proxy stopped - Replayed: {}, Recorded: {}, Unrecorded: {}",
+                replayed.get(), recorded.get(), unrecordedRequests.size());
+    }
+
+    public synchronized boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    /**
+     * Proxy address in {@code host:port} form, as used by Selenium's Proxy.
+     */
+    public synchronized String getAddress() {
+        if (serverSocket == null) {
+            throw new IllegalStateException("Record/replay proxy is not running");
+        }
+        return "localhost:" + serverSocket.getLocalPort();
+    }
+
+    public NetworkMode getMode() {
+        return mode;
+    }
+
+    public int getReplayedCount() {
+        return replayed.get();
+    }
+
+    public int getRecordedCount() {
+        return recorded.get();
+    }
+
+    /**
+     * Requests that strict replay could not serve from the archive, as
+     * "METHOD url", sorted.
+     */
+    public List<String> getUnrecordedRequests() {
+        return new ArrayList<>(new TreeSet<>(unrecordedRequests));
+    }
+
+    private void acceptConnections(ServerSocket listening) {
+        while (!listening.isClosed()) {
+            try {
+                Socket socket = listening.accept();
+                executor.execute(() -> handleConnection(socket));
+            } catch (SocketException e) {
+                return; // closed by stop()
+            } catch (IOException e) {
+                logger.warn("Record/replay proxy failed to accept a connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (Socket client = socket) {
+            client.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+            InputStream input = new BufferedInputStream(client.getInputStream());
+            OutputStream output = new BufferedOutputStream(client.getOutputStream());
+
+            ProxiedRequest first = ProxiedRequest.read(input);
+            if (first == null) {
+                return;
+            }
+            if (!"CONNECT".equals(first.method)) {
+                serve(first, null, input, output);
+                return;
+            }
+
+            // Browsers wait for the 200 before starting the handshake, so nothing
+            // past the CONNECT request is left in the buffer
+            output.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            String authority = first.target.endsWith(":443")
+                    ? first.target.substring(0, first.target.length() - 4)
+                    : first.target;
+            try (SSLSocket tls = (SSLSocket) tlsSocketFactory.createSocket(client, authority, client.getPort(), false)) {
+                tls.setUseClientMode(false);
+                tls.startHandshake();
+                InputStream tlsInput = new BufferedInputStream(tls.getInputStream());
+                ProxiedRequest request = ProxiedRequest.read(tlsInput);
+                if (request != null) {
+                    serve(request, "https://" + authority, tlsInput, new BufferedOutputStream(tls.getOutputStream()));
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Proxy connection closed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Answers requests on one client connection until it is closed.
+     *
+     * @param origin scheme and authority for origin-form targets inside a
+     *               tunnel, or null for absolute-form proxy requests
+     */
+    private void serve(ProxiedRequest request, String origin, InputStream input, OutputStream output)
+            throws IOException {
+        while (request != null) {
+            String url = origin == null ? request.target : origin + request.target;
+            writeResponse(output, request.method, respond(request, url));
+            if (request.closesConnection()) {
+                return;
+            }
+            request = ProxiedRequest.read(input);
+        }
+    }
+
+    private ArchivedResponse respond(ProxiedRequest request, String url) {
+        if (request.header("upgrade") != null) {
+            return textResponse(501, "Record/replay proxy does not support protocol upgrades");
+        }
+        if (resourceBlocker.isBlocked(url)) {
+            resourceBlocker.recordProxyBlock(url);
+            return textResponse(403, "Blocked by test profile: " + url);
+        }
+        if (mode == NetworkMode.OFF || archiveExclusions.isBlocked(url)) {
+            // Bag, cart and checkout state differs per session, so it always comes from the network
+            return fetch(request, url);
+        }
+        if (mode != NetworkMode.RECORD) {
+            ArchivedResponse archived = archive.find(request.method, url, request.body).orElse(null);
+            if (archived != null) {
+                replayed.incrementAndGet();
+                return archived;
+            }
+            if (archive.isLive(request.method, url, request.body)) {
+                return fetch(request, url);
+            }
+            if (mode == NetworkMode.STRICT_REPLAY) {
+                unrecordedRequests.add(request.method + " " + url);
+                logger.error("Strict replay: no recording for {} {}", request.method, url);
+                return textResponse(504, "Not recorded: " + request.method + " " + url);
+            }
+        }
+
+        ArchivedResponse response = fetch(request, url);
+        if (response.getStatus() < 500) {
+            // Marks a cookie-setting response live instead of storing it
+            archive.store(request.method, url, request.body, response);
+            recorded.incrementAndGet();
+        }
+        return response;
+    }
+
+    private ArchivedResponse fetch(ProxiedRequest request, String url) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .method(request.method, request.body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body));
+        request.headers.forEach((name, value) -> {
+            if (!NON_FORWARDED_HEADERS.contains(name.toLowerCase())) {
+                try {
+                    builder.header(name, value);
+                } catch (IllegalArgumentException e) {
+                    // Header the JDK client manages itself (e.g. Date, Via)
+                }
+            }
+        });
+
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":") && !NON_FORWARDED_HEADERS.contains(name.toLowerCase())) {
+                    headers.put(name, values);
+                }
+            });
+            return new ArchivedResponse(response.statusCode(), headers, response.body());
+        } catch (IOException e) {
+            logger.warn("Upstream request failed for {} {}: {}", request.method, url, e.getMessage());
+            return textResponse(502, "Upstream request failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return textResponse(502, "Interrupted");
+        }
+    }
+
+    private static void writeResponse(OutputStream output, String method, ArchivedResponse response)
+            throws IOException {
+        int status = response.getStatus();
+        boolean hasBody = status >= 200 && status != 204 && status != 304;
+
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(" \r\n");
+        response.getHeaders().forEach((name, values) ->
+                values.forEach(value -> head.append(name).append(": ").append(value).append("\r\n")));
+        if (hasBody) {
+            head.append("Content-Length: ").append(response.getBody().length).append("\r\n");
+        }
+        head.append("\r\n");
+
+        output.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (hasBody && !"HEAD".equals(method)) {
+            output.write(response.getBody());
+        }
+        output.flush();
+    }
+
+    private static ArchivedResponse textResponse(int status, String message) {
+        Map<String, List<String>> headers = Map.of("Content-Type", List.of("text/plain; charset=utf-8"));
+        return new ArchivedResponse(status, headers, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Loads the proxy's TLS key, generating a self-signed one with the JDK's
+     * keytool on first use.
+     */
+    private SSLContext createTlsContext() throws IOException {
+        Path keystoreFile = archiveDirectory.resolve(KEYSTORE_FILE);
+        if (!Files.exists(keystoreFile)) {
+            Files.createDirectories(archiveDirectory);
+            generateKeystore(keystoreFile);
+        }
+        try (InputStream keystoreInput = Files.newInputStream(keystoreFile)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(keystoreInput, KEYSTORE_PASSWORD.toCharArray());
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(keyStore, KEYSTORE_PASSWORD.toCharArray());
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers.getKeyManagers(), null, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Invalid proxy keystore " + keystoreFile, e);
+        }
+    }
+
+    private void generateKeystore(Path keystoreFile) throws IOException {
+        Path temp = keystoreFile.resolveSibling(KEYSTORE_FILE + "." + ProcessHandle.current().pid() + ".tmp");
+        String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair",
+                "-alias", "record-replay-proxy",
+                "-keyalg", "RSA", "-keysize", "2048", "-validity", "3650",
+                "-dname", "CN=Record Replay Proxy",
+                "-ext", "SAN=dns:localhost",
+                "-storetype", "PKCS12", "-keystore", temp.toString(),
+                "-storepass", KEYSTORE_PASSWORD, "-keypass", KEYSTORE_PASSWORD)
+                .redirectErrorStream(true)
+                .start();
+        try {
+            String processOutput = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IOException("keytool failed to generate proxy certificate: " + processOutput.trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating proxy certificate", e);
+        }
+        Files.move(temp, keystoreFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Generated record/replay proxy certificate: {}", keystoreFile.toAbsolutePath());
+    }
+
+    /**
+     * One HTTP/1.1 request read off a client connection.
+     */
+    private static class ProxiedRequest {
+        private final String method;
+        private final String target;
+        private final String version;
+        private final Map<String, String> headers;
+        private final byte[] body;
+
+        private ProxiedRequest(String method, String target, String version, Map<String, String> headers,
+                byte[] body) {
+            this.method = method;
+            this.target = target;
+            this.version = version;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String header(String name) {
+            return findHeader(headers, name);
+        }
+
+        private static String findHeader(Map<String, String> headers, String name) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    return header.getValue();
+                }
+            }
+            return null;
+        }
+
+        boolean closesConnection() {
+            String connection = header("connection");
+            if ("HTTP/1.0".equals(version)) {
+                return !"keep-alive".equalsIgnoreCase(connection);
+            }
+            return "close".equalsIgnoreCase(connection);
+        }
+
+        /**
+         * Reads the next request, or returns null when the client closed the
+         * connection between requests.
+         */
+        static ProxiedRequest read(InputStream input) throws IOException {
+            String requestLine = readLine(input);
+            while (requestLine != null && requestLine.isEmpty()) {
+                requestLine = readLine(input);
+            }
+            if (requestLine == null) {
+                return null;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length != 3) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            String line;
+            while ((line = readLine(input)) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.merge(line.substring(0, colon).trim(), line.substring(colon + 1).trim(),
+                            (first, second) -> first + ", " + second);
+                }
+            }
+
+            byte[] body;
+            String contentLength = findHeader(headers, "content-length");
+            if ("chunked".equalsIgnoreCase(findHeader(headers, "transfer-encoding"))) {
+                body = readChunked(input);
+            } else if (contentLength != null) {
+                body = input.readNBytes(Integer.parseInt(contentLength));
+            } else {
+                body = new byte[0];
+            }
+            return new ProxiedRequest(parts[0], parts[1], parts[2], headers, body);
+        }
+
+        private static byte[] readChunked(InputStream input) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                String sizeLine = readLine(input);
+                if (sizeLine == null) {
+                    throw new IOException("Connection closed inside chunked body");
+                }
+                int extension = sizeLine.indexOf(';');
+                int size = Integer.parseInt((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+                if (size == 0) {
+                    String trailer;
+                    while ((trailer = readLine(input)) != null && !trailer.isEmpty()) {
+                        // Trailers are not forwarded
+                    }
+                    return body.toByteArray();
+                }
+                body.write(input.readNBytes(size));
+                readLine(input);
+            }
+        }
+
+        private static String readLine(InputStream input) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = input.read()) != -1) {
+                if (b == '\n') {
+                    byte[] bytes = line.toByteArray();
+                    int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                    return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+                }
+                if (line.size() >= MAX_LINE_LENGTH) {
+                    throw new IOException("Request line or header too long");
+                }
+                line.write(b);
+            }
+            return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.solvd.selenium.network;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.utils.DriverUnwrapper;
+
+/**
+ * Keeps analytics, ads, chat and consent scripts from being fetched so
+ * {@code document.readyState} is not gated on them.
+ * <p>
+ * Chrome sessions are blocked in the browser: DevTools {@code Fetch.enable} pauses
+ * only requests matching a block pattern, which are then failed with
+ * {@code BlockedByClient} unless an allow pattern matches. Firefox sessions are
+ * blocked by the {@link RecordReplayProxy}, which the driver factory routes
+ * them through while blocking is enabled. Chrome stats are kept per session;
+ * proxy stats are shared by all Firefox sessions, so per-test numbers are only
+ * exact while one Firefox test runs at a time.
+ */
+public class ResourceBlocker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceBlocker.class);
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+
+    private static ResourceBlocker instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final boolean enabled;
+    private final BlockList blockList;
+    private final NetworkArchive archive;
+    private final Map<WebDriver, BlockedTrafficStats> sessionStats = Collections.synchronizedMap(new WeakHashMap<>());
+    private final BlockedTrafficStats proxyStats = new BlockedTrafficStats();
+
+    // Private constructor for singleton pattern
+    private ResourceBlocker() {
+        this.enabled = config.isNetworkBlockEnabled();
+        this.blockList = new BlockList(config.getNetworkBlockPatterns(), config.getNetworkAllowPatterns());
+        Path archiveDirectory = Paths.get(config.getNetworkArchiveDirectory());
+        this.archive = Files.isDirectory(archiveDirectory) ? new NetworkArchive(archiveDirectory) : null;
+    }
+
+    /**
+     * Get singleton instance of ResourceBlocker
+     */
+    public static ResourceBlocker getInstance() {
+        if (instance == null) {
+            synchronized (ResourceBlocker.class) {
+                if (instance == null) {
+                    instance = new ResourceBlocker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isBlocked(String url) {
+        return enabled && blockList.isBlocked(url);
+    }
+
+    /**
+     * Installs in-browser blocking on a new Chrome session. Other sessions are
+     * left alone; Firefox is blocked by the proxy instead.
+     *
+     * @param driver newly started session
+     */
+    public void attach(WebDriver driver) {
+        if (!enabled || !(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        BlockedTrafficStats stats = new BlockedTrafficStats();
+        DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(REQUEST_PAUSED, event -> onRequestPaused(devTools, stats, event));
+
+        List<Map<String, Object>> patterns = blockList.getBlockPatterns().stream()
+                .map(pattern -> Map.<String, Object>of("urlPattern", pattern))
+                .collect(Collectors.toList());
+        devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        sessionStats.put(driver, stats);
+        logger.debug("Resource blocking enabled with {} patterns", patterns.size());
+    }
+
+    /**
+     * Blocked traffic counters for a session: its own for Chrome, the shared
+     * proxy counters otherwise. Take a {@link BlockedTrafficStats#snapshot()} at
+     * test start and diff with {@link BlockedTrafficStats#since} at the end.
+     */
+    public BlockedTrafficStats getStats(WebDriver driver) {
+        BlockedTrafficStats stats = sessionStats.get(DriverUnwrapper.unwrap(driver));
+        return stats != null ? stats : proxyStats;
+    }
+
+    /**
+     * Counts a request the proxy refused.
+     */
+    void recordProxyBlock(String url) {
+        proxyStats.record(sizeOf(url));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequestPaused(DevTools devTools, BlockedTrafficStats stats, Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        String url = (String) ((Map<String, Object>) event.get("request")).get("url");
+        try {
+            if (blockList.isBlocked(url)) {
+                devTools.send(new Command<>("Fetch.failRequest",
+                        Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                stats.record(sizeOf(url));
+                logger.trace("Blocked {}", url);
+            } else {
+                devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            }
+        } catch (RuntimeException e) {
+            // The page navigated away or the session closed while the request was paused
+            logger.debug("Could not resolve paused request {}: {}", url, e.getMessage());
+        }
+    }
+
+    private long sizeOf(String url) {
+        return archive != null ? archive.bodySize("GET", url) : -1;
+    }
+}
@@ -1,18 +1,36 @@
 package com.solvd.selenium.pages;
 
+import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.pagefactory.Annotations;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.session.ConsentBootstrap;
+import com.solvd.selenium.timing.Step;
+import com.solvd.selenium.timing.StepTimer;
+import com.solvd.selenium.waits.WaitConditions;
+import com.solvd.selenium.utils.ScriptLoader;
+import com.solvd.selenium.waits.WaitPolicy;
 
 /**
  * BasePage class provides common functionality for all page objects in the
@@ -21,16 +39,92 @@ import com.solvd.selenium.config.ConfigManager;
  * conditions, and logging.
  */
 public abstract class BasePage {
-    // protected static final Duration EXPLICIT_WAIT = Duration.ofSeconds(15);
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected Logger logger = LoggerFactory.getLogger(this.getClass());
     protected final ConfigManager config = ConfigManager.getInstance();
+    protected final WaitConditions conditions = WaitConditions.fromConfig();
+    protected final WaitPolicy waitPolicy = WaitPolicy.getInstance();
+
+    private static final String ELEMENT_STATES_SCRIPT = ScriptLoader.load("/js/element-states.js");
+    private static final List<String> BATCHABLE_STRATEGIES = Arrays.asList("css selector", "xpath", "tag name");
+    private static final String BULK_READ_SCRIPT = ScriptLoader.load("/js/bulk-read.js");
+    private static final Map<String, Map<String, String>> LOCATOR_CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, List<String>> bulkReadCache = new HashMap<>();
+    private final ConsentBootstrap consentBootstrap = ConsentBootstrap.getInstance();
+
+    // The consent banner can show up on whichever page a session opens first
+    @FindBy(css = "button#onetrust-accept-btn-handler")
+    private WebElement acceptCookiesButton;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(config.getImplicitWaitSeconds()));
-        PageFactory.initElements(driver, this);
+        this.wait = waitPolicy.newWait(driver, getClass());
+        try (Step step = StepTimer.start(getClass(), "initElements")) {
+            PageFactory.initElements(waitPolicy.newLocatorFactory(driver), this);
+        }
+    }
+
+    /**
+     * Short wait for elements that may legitimately be absent, such as banners
+     * or optional page sections.
+     *
+     * @return a WebDriverWait bound by the probe budget
+     */
+    protected WebDriverWait probe() {
+        return waitPolicy.newProbeWait(driver);
+    }
+
+    /**
+     * Wait with a caller-chosen budget, for steps known to be faster or slower
+     * than the page default.
+     *
+     * @param budget maximum time to wait
+     * @return a WebDriverWait bound by the given budget
+     */
+    protected WebDriverWait waitWithin(Duration budget) {
+        return waitPolicy.newWait(driver, budget);
+    }
+
+    /**
+     * Accepts the cookies banner, unless consent was seeded into the session
+     * before it navigated and no banner will show up.
+     */
+    public void acceptCookiesUnlessSeeded() {
+        if (consentBootstrap.isConsentSeeded(driver)) {
+            logger.debug("Consent seeded before navigation, skipping cookies banner");
+        } else {
+            acceptCookiesIfPresent();
+        }
+    }
+
+    public void acceptCookiesIfPresent() {
+        try (Step step = StepTimer.start(getClass(), "acceptCookiesIfPresent")) {
+            try {
+                WebElement cookiesButton = probe().until(conditions.elementToBeClickable(acceptCookiesButton));
+                cookiesButton.click();
+                logger.info("Cookies accepted");
+            } catch (Exception e) {
+                logger.info("No cookies banner found or already accepted");
+                return;
+            }
+            captureConsent();
+        }
+    }
+
+    /**
+     * Remembers the consent just given so later sessions skip the banner.
+     */
+    private void captureConsent() {
+        if (!consentBootstrap.isEnabled()) {
+            return;
+        }
+        try {
+            probe().until(consentBootstrap::capture);
+        } catch (Exception e) {
+            logger.warn("Consent cookie not set after accepting cookies, consent not captured");
+        }
     }
 
     /**
@@ -38,22 +132,20 @@ public abstract class BasePage {
      * Logs the result and throws an exception if the page fails to load in time.
      */
     protected void waitForPageLoad() {
-        try {
-            boolean loaded = wait.until(driver -> {
-                if (driver instanceof JavascriptExecutor) {
-                    Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState");
-                    return "complete".equals(state);
+        try (Step step = StepTimer.start(getClass(), "waitForPageLoad")) {
+            invalidateBulkReads();
+            try {
+                boolean loaded = wait.until(conditions.documentReady());
+                if (loaded) {
+                    logger.info("Page loaded successfully: {}", driver.getCurrentUrl());
+                } else {
+                    logger.warn("Page did not reach 'complete' readyState: {}", driver.getCurrentUrl());
                 }
-                return false;
-            });
-            if (loaded) {
-                logger.info("Page loaded successfully: {}", driver.getCurrentUrl());
-            } else {
-                logger.warn("Page did not reach 'complete' readyState: {}", driver.getCurrentUrl());
+            } catch (Exception e) {
+                step.fail(e);
+                logger.error("Timeout waiting for page to load: {}", driver.getCurrentUrl(), e);
+                throw new RuntimeException("Timeout waiting for page to load: " + driver.getCurrentUrl(), e);
             }
-        } catch (Exception e) {
-            logger.error("Timeout waiting for page to load: {}", driver.getCurrentUrl(), e);
-            throw new RuntimeException("Timeout waiting for page to load: " + driver.getCurrentUrl(), e);
         }
     }
 
@@ -65,17 +157,20 @@ public abstract class BasePage {
      * @return true if the text matches within the wait time, false otherwise
      */
     public boolean waitForElementText(WebElement element, String expectedText) {
-        try {
-            boolean result = wait.until(ExpectedConditions.textToBePresentInElement(element, expectedText));
-            if (result) {
-                logger.info("Element text changed to expected value: '{}'", expectedText);
-            } else {
-                logger.warn("Element text did not change to expected value: '{}'", expectedText);
+        try (Step step = StepTimer.start(getClass(), "waitForElementText", element)) {
+            try {
+                boolean result = wait.until(conditions.textToBePresentInElement(element, expectedText));
+                if (result) {
+                    logger.info("Element text changed to expected value: '{}'", expectedText);
+                } else {
+                    logger.warn("Element text did not change to expected value: '{}'", expectedText);
+                }
+                return result;
+            } catch (Exception e) {
+                step.fail(e);
+                logger.error("Timeout waiting for element text to be '{}': {}", expectedText, element.toString(), e);
+                return false;
             }
-            return result;
-        } catch (Exception e) {
-            logger.error("Timeout waiting for element text to be '{}': {}", expectedText, element.toString(), e);
-            return false;
         }
     }
 
@@ -114,68 +209,314 @@ public abstract class BasePage {
      * @return true if the element is visible, false otherwise
      */
     public boolean isElementVisible(WebElement element) {
-        try {
-            return wait.until(ExpectedConditions.visibilityOf(element)).isDisplayed();
-        } catch (Exception e) {
-            logger.warn("Element not visible: {}", element.toString(), e);
-            return false;
+        return isElementVisible(element, wait);
+    }
+
+    /**
+     * Checks if an element becomes visible within the given budget
+     * 
+     * @param element WebElement to check
+     * @param budget  maximum time to wait for the element
+     * @return true if the element is visible, false otherwise
+     */
+    public boolean isElementVisible(WebElement element, Duration budget) {
+        return isElementVisible(element, waitWithin(budget));
+    }
+
+    private boolean isElementVisible(WebElement element, WebDriverWait visibilityWait) {
+        try (Step step = StepTimer.start(getClass(), "isElementVisible", element)) {
+            try {
+                return visibilityWait.until(conditions.visibilityOf(element)).isDisplayed();
+            } catch (Exception e) {
+                step.fail(e);
+                logger.warn("Element not visible: {}", element.toString(), e);
+                return false;
+            }
         }
     }
 
     /**
-     * Checks if all elements are present in the DOM (may not be visible)
+     * Checks if all elements are present in the DOM (may not be visible).
+     * The whole list is checked in a single script call.
      * 
      * @param elements List of WebElements to check
      * @return true if all elements are present, false otherwise
      */
     public boolean areElementsPresent(List<WebElement> elements) {
-        if (elements == null || elements.isEmpty()) {
-            logger.warn("Empty or null elements list provided");
-            return false;
-        }
+        try (Step step = StepTimer.start(getClass(), "areElementsPresent")) {
+            List<WebElement> snapshot = new ArrayList<>(elements == null ? Collections.emptyList() : elements);
+            if (snapshot.isEmpty()) {
+                logger.warn("Empty or null elements list provided");
+                return false;
+            }
 
-        boolean allPresent = true;
-        for (WebElement element : elements) {
+            boolean allPresent;
             try {
-                // Just check presence, not visibility
-                element.isEnabled();
+                Object connected = ((JavascriptExecutor) driver).executeScript(
+                        "return arguments[0].filter(function (el) { return el.isConnected; }).length;", snapshot);
+                allPresent = ((Number) connected).intValue() == snapshot.size();
             } catch (Exception e) {
-                logger.warn("Element not present in DOM: {}", element.toString());
+                step.fail(e);
+                logger.warn("Elements not present in DOM: {}", e.getMessage());
                 allPresent = false;
             }
-        }
 
-        logger.debug("Presence check completed. All elements present: {}", allPresent);
-        return allPresent;
+            logger.debug("Presence check completed. All elements present: {}", allPresent);
+            return allPresent;
+        }
     }
 
     /**
-     * Checks if all elements are visible on the page
+     * Checks if all elements are visible on the page, waiting once for the
+     * whole list rather than element by element
      * 
      * @param elements List of WebElements to check
      * @return true if all elements are visible, false otherwise
      */
     public boolean areElementsVisible(List<WebElement> elements) {
-        if (elements == null || elements.isEmpty()) {
-            logger.warn("Empty or null elements list provided");
-            return false;
-        }
+        try (Step step = StepTimer.start(getClass(), "areElementsVisible")) {
+            List<WebElement> snapshot = new ArrayList<>(elements == null ? Collections.emptyList() : elements);
+            if (snapshot.isEmpty()) {
+                logger.warn("Empty or null elements list provided");
+                return false;
+            }
 
-        boolean allVisible = true;
-        for (WebElement element : elements) {
+            boolean allVisible;
             try {
-                if (!wait.until(ExpectedConditions.visibilityOf(element)).isDisplayed()) {
-                    logger.warn("Element not displayed: {}", element.toString());
-                    allVisible = false;
-                }
+                wait.until(conditions.visibilityOfAllElements(snapshot));
+                allVisible = true;
             } catch (Exception e) {
-                logger.warn("Element not visible: {}", element.toString(), e);
+                step.fail(e);
+                logger.warn("Not all of {} elements visible", snapshot.size(), e);
                 allVisible = false;
             }
+
+            logger.info("Visibility check completed. All elements visible: {}", allVisible);
+            return allVisible;
+        }
+    }
+
+    /**
+     * Captures presence, visibility and text of the named {@code @FindBy}
+     * fields in one script call per check, waiting up to the page budget for
+     * all of them to become visible. On timeout the last snapshot is returned so
+     * callers can report each missing element by name. If the script fails,
+     * the elements are checked one by one through WebDriver instead.
+     * 
+     * @param fieldNames names of {@code @FindBy} fields declared on this page
+     * @return states keyed by field name
+     */
+    protected ElementStates queryElements(String... fieldNames) {
+        try (Step step = StepTimer.start(getClass(), "queryElements", String.join(",", fieldNames))) {
+            List<Map<String, String>> locators = describeFields(fieldNames);
+            ElementStates[] lastSnapshot = new ElementStates[1];
+            boolean[] batched = { true };
+            try {
+                return wait.until(d -> {
+                    if (batched[0]) {
+                        try {
+                            lastSnapshot[0] = runElementQuery(fieldNames, locators);
+                        } catch (JavascriptException e) {
+                            logger.warn("Batch element query failed, checking elements one by one: {}",
+                                    e.getMessage());
+                            batched[0] = false;
+                        }
+                    }
+                    if (!batched[0]) {
+                        lastSnapshot[0] = readElementStates(fieldNames);
+                    }
+                    return lastSnapshot[0].allVisible() ? lastSnapshot[0] : null;
+                });
+            } catch (TimeoutException e) {
+                step.fail(e);
+                if (lastSnapshot[0] == null) {
+                    // The script itself timed out, so there is no snapshot to report from
+                    logger.warn("Batch element query did not complete: {}", e.getMessage());
+                    lastSnapshot[0] = readElementStates(fieldNames);
+                }
+                logger.warn("Elements not visible after batch query: {}", lastSnapshot[0].getNotVisible());
+                return lastSnapshot[0];
+            }
         }
+    }
+
+    /**
+     * Same states as the batch script, collected with one WebDriver lookup per
+     * element.
+     */
+    private ElementStates readElementStates(String[] fieldNames) {
+        ElementStates states = new ElementStates();
+        for (String fieldName : fieldNames) {
+            List<WebElement> found = driver.findElements(new Annotations(findField(getClass(), fieldName)).buildBy());
+            boolean visible = false;
+            String text = "";
+            if (!found.isEmpty()) {
+                try {
+                    visible = found.get(0).isDisplayed();
+                    text = visible ? found.get(0).getText().trim() : "";
+                } catch (StaleElementReferenceException e) {
+                    // Re-rendered between lookup and check; the next check finds the new node
+                    visible = false;
+                }
+            }
+            states.add(new ElementState(fieldName, !found.isEmpty(), visible, text));
+        }
+        return states;
+    }
+
+    private ElementStates runElementQuery(String[] fieldNames, List<Map<String, String>> locators) {
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> results = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(ELEMENT_STATES_SCRIPT, locators);
+
+        ElementStates states = new ElementStates();
+        for (int i = 0; i < fieldNames.length; i++) {
+            Map<String, Object> result = results.get(i);
+            states.add(new ElementState(fieldNames[i],
+                    Boolean.TRUE.equals(result.get("present")),
+                    Boolean.TRUE.equals(result.get("visible")),
+                    String.valueOf(result.get("text"))));
+        }
+        return states;
+    }
+
+    private List<Map<String, String>> describeFields(String... fieldNames) {
+        List<Map<String, String>> locators = new ArrayList<>();
+        for (String fieldName : fieldNames) {
+            locators.add(locatorOf(fieldName));
+        }
+        return locators;
+    }
+
+    /**
+     * {@code { using, value }} descriptor of a {@code @FindBy} field's locator,
+     * for page scripts that query the same nodes.
+     */
+    protected Map<String, String> locatorOf(String fieldName) {
+        return LOCATOR_CACHE.computeIfAbsent(getClass().getName() + "#" + fieldName, key -> describeField(fieldName));
+    }
+
+    /**
+     * Reads the rendered text of every node matched by a list {@code @FindBy}
+     * field in a single script call; hidden nodes read as empty text, like
+     * {@link WebElement#getText()}. A complete result, at least one node and
+     * every node visible, is cached until the page state changes through a
+     * page-object action.
+     * <p>
+     * Changes the page makes on its own, such as lazy loading or client-side
+     * filtering, do not clear the cache; call {@link #invalidateBulkReads()}
+     * after waiting for them, or use {@link #awaitTexts} for lists that are
+     * still rendering.
+     * 
+     * @param listFieldName name of a {@code @FindBy List<WebElement>} field
+     * @return texts in document order, one per matched node
+     */
+    protected List<String> readTexts(String listFieldName) {
+        return bulkRead(listFieldName, null);
+    }
+
+    /**
+     * Waits until a list {@code @FindBy} field matches at least one node and
+     * every matched node is visible, then returns their texts, like waiting
+     * for visibility of all elements. Visible nodes without text are kept as
+     * empty strings; only visibility is waited for. A list cached by an
+     * earlier complete read is returned at once; otherwise every check reads
+     * the page and only the final list is cached.
+     * 
+     * @param listFieldName name of a {@code @FindBy List<WebElement>} field
+     * @return texts in document order, one per matched node
+     */
+    protected List<String> awaitTexts(String listFieldName) {
+        List<String> cached = bulkReadCache.get(listFieldName);
+        if (cached != null) {
+            return cached;
+        }
+        BulkRead read = wait.until(d -> {
+            BulkRead check = queryBulk(listFieldName, null);
+            return check.isComplete() ? check : null;
+        });
+        bulkReadCache.put(listFieldName, read.values);
+        return read.values;
+    }
+
+    /**
+     * Reads an attribute of every node matched by a list {@code @FindBy} field
+     * in a single script call. Missing attributes are returned as empty strings.
+     * A result with every node visible is cached until the page state changes
+     * through a page-object action, with the same limits as
+     * {@link #readTexts}.
+     * 
+     * @param listFieldName name of a {@code @FindBy List<WebElement>} field
+     * @param attribute     attribute to read, e.g. "href"
+     * @return attribute values in document order
+     */
+    protected List<String> readAttributes(String listFieldName, String attribute) {
+        return bulkRead(listFieldName, attribute);
+    }
+
+    /**
+     * Drops cached bulk reads. Called by every page-object action that can
+     * change the page; subclasses call it after interacting with the driver
+     * directly.
+     */
+    protected void invalidateBulkReads() {
+        bulkReadCache.clear();
+    }
+
+    private List<String> bulkRead(String listFieldName, String attribute) {
+        String cacheKey = attribute == null ? listFieldName : listFieldName + "@" + attribute;
+        List<String> cached = bulkReadCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        BulkRead result = queryBulk(listFieldName, attribute);
+        // Keep incomplete reads out of the cache, the list may still be loading or hidden
+        if (result.isComplete()) {
+            bulkReadCache.put(cacheKey, result.values);
+        }
+        return result.values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BulkRead queryBulk(String listFieldName, String attribute) {
+        try (Step step = StepTimer.start(getClass(), "bulkRead", listFieldName)) {
+            Map<String, Object> read = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(BULK_READ_SCRIPT, locatorOf(listFieldName), attribute);
+            return new BulkRead((List<String>) read.get("values"), ((Number) read.get("hidden")).intValue());
+        }
+    }
+
+    /**
+     * Turns a {@code @FindBy} field into a locator descriptor the batch script
+     * understands.
+     */
+    private Map<String, String> describeField(String fieldName) {
+        Field field = findField(getClass(), fieldName);
+        By by = new Annotations(field).buildBy();
+        if (!(by instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator of field '" + fieldName + "' cannot be batch-queried: " + by);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        if (!BATCHABLE_STRATEGIES.contains(parameters.using())) {
+            throw new IllegalArgumentException(String.format(
+                    "Locator strategy '%s' of field '%s' cannot be batch-queried", parameters.using(), fieldName));
+        }
+
+        Map<String, String> locator = new HashMap<>();
+        locator.put("using", parameters.using());
+        locator.put("value", String.valueOf(parameters.value()));
+        return locator;
+    }
 
-        logger.info("Visibility check completed. All elements visible: {}", allVisible);
-        return allVisible;
+    private static Field findField(Class<?> type, String fieldName) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                // Keep looking in the superclass
+            }
+        }
+        throw new IllegalArgumentException("No field '" + fieldName + "' on " + type.getSimpleName());
     }
 
     /**
@@ -185,11 +526,14 @@ public abstract class BasePage {
      * @return Text of the element or an empty string if not visible
      */
     public String getElementText(WebElement element) {
-        try {
-            return wait.until(ExpectedConditions.visibilityOf(element)).getText();
-        } catch (Exception e) {
-            logger.warn("Failed to get text from element: {}", element.toString(), e);
-            return "";
+        try (Step step = StepTimer.start(getClass(), "getElementText", element)) {
+            try {
+                return wait.until(conditions.visibilityOf(element)).getText();
+            } catch (Exception e) {
+                step.fail(e);
+                logger.warn("Failed to get text from element: {}", element.toString(), e);
+                return "";
+            }
         }
     }
 
@@ -199,13 +543,17 @@ public abstract class BasePage {
      * @param element WebElement to click
      */
     public void clickElement(WebElement element) {
-        try {
-            WebElement clickableElement = wait.until(ExpectedConditions.elementToBeClickable(element));
-            clickableElement.click();
-            logger.info("Successfully clicked element: {}", element.toString());
-        } catch (Exception e) {
-            logger.warn("Failed to click element: {}", element.toString(), e);
-            throw new RuntimeException("Failed to click element: " + element.toString(), e);
+        try (Step step = StepTimer.start(getClass(), "clickElement", element)) {
+            try {
+                WebElement clickableElement = wait.until(conditions.elementToBeClickable(element));
+                invalidateBulkReads();
+                clickableElement.click();
+                logger.info("Successfully clicked element: {}", element.toString());
+            } catch (Exception e) {
+                step.fail(e);
+                logger.warn("Failed to click element: {}", element.toString(), e);
+                throw new RuntimeException("Failed to click element: " + element.toString(), e);
+            }
         }
     }
 
@@ -216,14 +564,36 @@ public abstract class BasePage {
      * @param text    Text to enter
      */
     public void enterText(WebElement element, String text) {
-        try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
-            element.clear();
-            element.sendKeys(text);
-            logger.info("Entered text '{}' into element: {}", text, element.toString());
-        } catch (Exception e) {
-            logger.error("Failed to enter text '{}' into element: {}", text, element.toString(), e);
-            throw new RuntimeException("Failed to enter text into element", e);
+        try (Step step = StepTimer.start(getClass(), "enterText", element)) {
+            try {
+                wait.until(conditions.elementToBeClickable(element));
+                invalidateBulkReads();
+                element.clear();
+                element.sendKeys(text);
+                logger.info("Entered text '{}' into element: {}", text, element.toString());
+            } catch (Exception e) {
+                step.fail(e);
+                logger.error("Failed to enter text '{}' into element: {}", text, element.toString(), e);
+                throw new RuntimeException("Failed to enter text into element", e);
+            }
+        }
+    }
+
+    /**
+     * Result of one bulk-read script call.
+     */
+    private static final class BulkRead {
+        private final List<String> values;
+        private final int hidden;
+
+        BulkRead(List<String> values, int hidden) {
+            this.values = Collections.unmodifiableList(new ArrayList<>(values));
+            this.hidden = hidden;
+        }
+
+        // At least one node and all of them visible
+        boolean isComplete() {
+            return !values.isEmpty() && hidden == 0;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.solvd.selenium.pages;
+
+/**
+ * State of a single page-object element as captured by a batch query.
+ */
+public final class ElementState {
+
+    private final String name;
+    private final boolean present;
+    private final boolean visible;
+    private final String text;
+
+    ElementState(String name, boolean present, boolean visible, String text) {
+        this.name = name;
+        this.present = present;
+        this.visible = visible;
+        this.text = text;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[present=%s, visible=%s]", name, present, visible);
+    }
+}
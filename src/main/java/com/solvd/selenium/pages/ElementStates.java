@@ -0,0 +1,70 @@
+package com.solvd.selenium.pages;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a batch element-state query, keyed by page-object field name.
+ * Assertions can still name individual elements, e.g.
+ * {@code softAssert.assertTrue(states.isVisible("logo"), "Logo should be visible")}.
+ */
+public final class ElementStates {
+
+    private final Map<String, ElementState> states = new LinkedHashMap<>();
+
+    void add(ElementState state) {
+        states.put(state.getName(), state);
+    }
+
+    /**
+     * @param name page-object field name
+     * @return captured state
+     * @throws IllegalArgumentException if the field was not part of the query
+     */
+    public ElementState get(String name) {
+        ElementState state = states.get(name);
+        if (state == null) {
+            throw new IllegalArgumentException("Element '" + name + "' was not part of this query");
+        }
+        return state;
+    }
+
+    public boolean isPresent(String name) {
+        return get(name).isPresent();
+    }
+
+    public boolean isVisible(String name) {
+        return get(name).isVisible();
+    }
+
+    public String getText(String name) {
+        return get(name).getText();
+    }
+
+    public boolean allVisible() {
+        return states.values().stream().allMatch(ElementState::isVisible);
+    }
+
+    /**
+     * Names of the queried elements that are not visible.
+     */
+    public List<String> getNotVisible() {
+        return states.values().stream()
+                .filter(state -> !state.isVisible())
+                .map(ElementState::getName)
+                .collect(Collectors.toList());
+    }
+
+    public Collection<ElementState> asCollection() {
+        return Collections.unmodifiableCollection(states.values());
+    }
+
+    @Override
+    public String toString() {
+        return states.values().toString();
+    }
+}
@@ -1,26 +1,32 @@
 package com.solvd.selenium.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import com.solvd.selenium.navigation.CategoryUrlResolver;
+import com.solvd.selenium.timing.Step;
+import com.solvd.selenium.timing.StepTimer;
+import com.solvd.selenium.utils.ScriptLoader;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class HomePage extends BasePage {
 
+    private static final String MENU_LINKS_SCRIPT = ScriptLoader.load("/js/menu-links.js");
+
     @FindBy(css = "input#header-big-screen-search-box")
     private WebElement searchInput;
 
     @FindBy(css = "button[data-testid='header-search-bar-button']")
     private WebElement searchButton;
 
-    @FindBy(css = "button#onetrust-accept-btn-handler")
-    private WebElement acceptCookiesButton;
-
     @FindBy(css = "a[href='/delivery-service-local-store'] > span")
     private WebElement deliveryTitle;
 
@@ -56,18 +62,20 @@ public class HomePage extends BasePage {
 
     public HomePage(WebDriver driver) {
         super(driver);
-        acceptCookiesIfPresent();
+        acceptCookiesUnlessSeeded();
         waitForPageLoad();
     }
 
-    public void acceptCookiesIfPresent() {
-        try {
-            WebElement cookiesButton = wait.until(ExpectedConditions.elementToBeClickable(acceptCookiesButton));
-            cookiesButton.click();
-            logger.info("Cookies accepted");
-        } catch (Exception e) {
-            logger.info("No cookies banner found or already accepted");
-        }
+    /**
+     * Reads every titled link nested in the main menu items in a single
+     * script call, without hovering.
+     *
+     * @return category name to (link title to absolute URL)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<String, String>> readMenuLinks() {
+        return (Map<String, Map<String, String>>) ((JavascriptExecutor) driver)
+                .executeScript(MENU_LINKS_SCRIPT, locatorOf("mainMenuItems"));
     }
 
     public SearchResultsPage clickSearchButton() {
@@ -121,37 +129,55 @@ public class HomePage extends BasePage {
         return isElementVisible(checkoutButton);
     }
 
+    /**
+     * Captures the state of all header elements in a single batch query.
+     * Keys are the field names: storeLocatorLink, helpLink, logo, searchBar,
+     * accountIcon, favoritesIcon, shoppingBagIcon, checkoutButton.
+     */
+    public ElementStates getHeaderElementStates() {
+        return queryElements("storeLocatorLink", "helpLink", "logo", "searchBar",
+                "accountIcon", "favoritesIcon", "shoppingBagIcon", "checkoutButton");
+    }
+
     public boolean isMainMenuVisible() {
         return !mainMenuItems.isEmpty() && mainMenuItems.get(0).isDisplayed();
     }
 
     public List<String> getMainMenuCategoriesList() {
         List<String> actualCategories = new ArrayList<>();
-        for (WebElement item : mainMenuItems) {
-            actualCategories.add(item.getText().toLowerCase());
+        for (String item : readTexts("mainMenuItems")) {
+            actualCategories.add(item.toLowerCase());
         }
         return actualCategories;
     }
 
     public CategoryPage hoverOverMainCategoryAndClick(String category, String subCategory) {
-        for (WebElement item : mainMenuItems) {
-            if (item.getText().trim().equalsIgnoreCase(category.trim())) {
-                Actions actions = new Actions(driver);
-                actions.moveToElement(item).pause(300).perform();
-                String subCategorySelector = String.format("a[title='%s']", subCategory);
-                try {
-                    WebElement subCategoryLink = wait.until(
-                            ExpectedConditions.elementToBeClickable(By.cssSelector(subCategorySelector)));
-                    subCategoryLink.click();
-                    logger.info("Hovered over category: {} and clicked on sub-category: {}", category, subCategory);
-                    return new CategoryPage(driver);
-                } catch (Exception e) {
-                    logger.error("Sub-category '{}' not found under category '{}'", subCategory, category, e);
-                    return null;
+        try (Step step = StepTimer.start(getClass(), "hoverOverMainCategoryAndClick")) {
+            List<String> menuTexts = readTexts("mainMenuItems");
+            for (int i = 0; i < menuTexts.size(); i++) {
+                if (menuTexts.get(i).equalsIgnoreCase(category.trim())) {
+                    WebElement item = mainMenuItems.get(i);
+                    Actions actions = new Actions(driver);
+                    actions.moveToElement(item).pause(300).perform();
+                    invalidateBulkReads();
+                    String subCategorySelector = String.format("a[title='%s']", subCategory);
+                    try {
+                        WebElement subCategoryLink = wait.until(
+                                ExpectedConditions.elementToBeClickable(By.cssSelector(subCategorySelector)));
+                        subCategoryLink.click();
+                        logger.info("Hovered over category: {} and clicked on sub-category: {}", category, subCategory);
+                        CategoryPage categoryPage = new CategoryPage(driver);
+                        CategoryUrlResolver.getInstance().learn(category, subCategory, driver.getCurrentUrl());
+                        return categoryPage;
+                    } catch (Exception e) {
+                        step.fail(e);
+                        logger.error("Sub-category '{}' not found under category '{}'", subCategory, category, e);
+                        return null;
+                    }
                 }
             }
+            logger.warn("Main category '{}' not found in menu", category);
+            return null;
         }
-        logger.warn("Main category '{}' not found in menu", category);
-        return null;
     }
 }
\ No newline at end of file
@@ -90,6 +90,17 @@ public class ProductPage extends BasePage {
         return isElementVisible(reviewsSection);
     }
 
+    /**
+     * Captures the state of the product information elements in a single batch
+     * query. Keys are the field names: productName, productPrice,
+     * productDescription, productImages, sizeSelector, colorSelector,
+     * addToBagButton, favouriteButton, reviewsSection.
+     */
+    public ElementStates getProductDetailStates() {
+        return queryElements("productName", "productPrice", "productDescription", "productImages",
+                "sizeSelector", "colorSelector", "addToBagButton", "favouriteButton", "reviewsSection");
+    }
+
     public void selectFirstAvailableSize() {
         clickElement(firstAvailableSize);
         waitForElementText(inStock, "In stock");
@@ -3,7 +3,6 @@ package com.solvd.selenium.pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,11 +31,14 @@ public class SearchResultsPage extends BasePage {
         waitForPageLoad();
     }
 
+    /**
+     * Reads all product titles in one script call per check, waiting until
+     * every title is visible; titles without text are left out. Repeated
+     * calls on the same page state are served from cache.
+     */
     public List<String> getProductTitles() {
-        wait.until(ExpectedConditions.visibilityOfAllElements(productTitles));
-        List<String> titles = productTitles.stream()
-                .map(WebElement::getText)
-                .filter(text -> !text.trim().isEmpty())
+        List<String> titles = awaitTexts("productTitles").stream()
+                .filter(text -> !text.isEmpty())
                 .collect(Collectors.toList());
 
         logger.info("Found {} product titles", titles.size());
@@ -0,0 +1,102 @@
+package com.solvd.selenium.session;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.fixture.FixtureServer;
+import com.solvd.selenium.pages.ShoppingBagPage;
+
+/**
+ * Puts a session straight into a "bag contains product X" state, skipping the
+ * home, menu, category, product, size and add-to-bag page transitions.
+ * <p>
+ * The bag is filled through the fixture server's cart and handed to the
+ * browser by seeding the fixture session cookie before the bag page is
+ * opened. The live site's cart API is not public, so against the real site
+ * {@link #isAvailable()} is false and callers go through the UI instead.
+ */
+public class CartFixture {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartFixture.class);
+
+    private static final String SHOPPING_BAG_PATH = "shoppingbag";
+
+    private static CartFixture instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final FixtureServer fixtureServer = FixtureServer.getInstance();
+
+    // Private constructor for singleton pattern
+    private CartFixture() {
+    }
+
+    /**
+     * Get singleton instance of CartFixture
+     */
+    public static CartFixture getInstance() {
+        if (instance == null) {
+            synchronized (CartFixture.class) {
+                if (instance == null) {
+                    instance = new CartFixture();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return true if the tests run against the fixture server, whose cart can
+     *         be filled directly
+     */
+    public boolean isAvailable() {
+        return fixtureServer.isRunning() && fixtureServer.getBaseUrl().equals(config.getBaseUrl());
+    }
+
+    /**
+     * Adds the first product of a category to a new bag for the session and
+     * opens the shopping bag page.
+     *
+     * @param driver      session that has not opened the site yet
+     * @param category    main menu category, e.g. "Women"
+     * @param subCategory menu link title, e.g. "All Dresses"
+     * @return the shopping bag page showing the product
+     */
+    public ShoppingBagPage openBagWithFirstProduct(WebDriver driver, String category, String subCategory) {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Cart fixture needs the fixture server running at base.url");
+        }
+        String fixtureCategory = toFixtureCategory(category, subCategory);
+        List<Map<String, Object>> products = fixtureServer.findProductsInCategory(fixtureCategory);
+        if (products.isEmpty()) {
+            throw new IllegalArgumentException("Fixture catalog has no products in " + fixtureCategory);
+        }
+        Map<String, Object> product = products.get(0);
+
+        String sessionId = UUID.randomUUID().toString();
+        fixtureServer.getCart().add(sessionId, product, FixtureServer.FIRST_AVAILABLE_SIZE, 1);
+
+        URI baseUri = URI.create(config.getBaseUrl());
+        Cookie sessionCookie = new Cookie.Builder(FixtureServer.SESSION_COOKIE, sessionId).path("/").build();
+        CookieSeeder.seed(driver, baseUri, List.of(sessionCookie), Map.of());
+
+        logger.info("Bag seeded with '{}' (size {}), opening shopping bag",
+                product.get("title"), FixtureServer.FIRST_AVAILABLE_SIZE);
+        driver.get(baseUri.resolve(SHOPPING_BAG_PATH).toString());
+        return new ShoppingBagPage(driver);
+    }
+
+    /**
+     * "Women" and "All Dresses" become "women/dresses".
+     */
+    private static String toFixtureCategory(String category, String subCategory) {
+        return category.toLowerCase() + "/" + subCategory.replaceFirst("(?i)^all\\s+", "").toLowerCase();
+    }
+}
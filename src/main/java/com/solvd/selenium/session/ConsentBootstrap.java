@@ -0,0 +1,243 @@
+package com.solvd.selenium.session;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.utils.DriverUnwrapper;
+
+/**
+ * Session bootstrap stage that restores cookie consent before a test navigates,
+ * so {@code HomePage} does not have to wait for the consent banner.
+ * <p>
+ * The first time a browser accepts the banner, the consent cookies and matching
+ * localStorage entries are captured and cached on disk per browser and host.
+ * Every later session of that browser is seeded from the cache through
+ * {@link CookieSeeder}. Pooled sessions keep their consent cookies between
+ * leases, so they are seeded once rather than on every lease; for browsers
+ * without DevTools each seeding costs a navigation.
+ */
+public class ConsentBootstrap {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsentBootstrap.class);
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var names = arguments[0], entries = {};"
+            + "for (var i = 0; i < localStorage.length; i++) {"
+            + "  var key = localStorage.key(i);"
+            + "  if (names.some(function (name) { return key.indexOf(name) === 0; })) {"
+            + "    entries[key] = localStorage.getItem(key);"
+            + "  }"
+            + "}"
+            + "return entries;";
+
+    private static ConsentBootstrap instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final Json json = new Json();
+    private final boolean enabled;
+    private final Path cacheDirectory;
+    private final List<String> consentNames;
+    private final URI baseUri;
+    private final Map<String, Optional<Map<String, Object>>> states = new ConcurrentHashMap<>();
+    private final Set<WebDriver> seededSessions = Collections.newSetFromMap(
+            Collections.synchronizedMap(new WeakHashMap<>()));
+
+    // Private constructor for singleton pattern
+    private ConsentBootstrap() {
+        this.enabled = config.isConsentBootstrapEnabled();
+        this.cacheDirectory = Paths.get(config.getConsentCacheDirectory());
+        this.consentNames = config.getConsentCookieNames();
+        this.baseUri = URI.create(config.getBaseUrl());
+    }
+
+    /**
+     * Get singleton instance of ConsentBootstrap
+     */
+    public static ConsentBootstrap getInstance() {
+        if (instance == null) {
+            synchronized (ConsentBootstrap.class) {
+                if (instance == null) {
+                    instance = new ConsentBootstrap();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Restores the cached consent state into a session that has not navigated
+     * yet. Call once per lease.
+     *
+     * @param driver   session to seed
+     * @param browser  browser name the consent was captured with
+     * @param retained true if the session still holds the consent cookies
+     *                 from its previous lease, which makes seeding unnecessary
+     * @return true if consent was seeded or retained and the banner can be
+     *         skipped
+     */
+    public boolean seed(WebDriver driver, String browser, boolean retained) {
+        seededSessions.remove(DriverUnwrapper.unwrap(driver));
+        if (!enabled) {
+            return false;
+        }
+        if (retained) {
+            seededSessions.add(DriverUnwrapper.unwrap(driver));
+            logger.debug("Consent kept from the previous lease for {}, not seeding again", browser);
+            return true;
+        }
+        Map<String, Object> state = stateFor(browser).orElse(null);
+        if (state == null) {
+            logger.debug("No captured consent for {} on {}, banner will be handled by the page", browser, baseUri.getHost());
+            return false;
+        }
+
+        List<Cookie> cookies = liveCookies(state);
+        if (cookies.isEmpty()) {
+            logger.info("Captured consent for {} has expired, it will be captured again", browser);
+            states.remove(browser);
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> storage = (Map<String, Object>) state.get("localStorage");
+
+        try {
+            CookieSeeder.seed(driver, baseUri, cookies, storage);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to seed consent for {}, banner will be handled by the page: {}", browser, e.getMessage());
+            return false;
+        }
+
+        seededSessions.add(DriverUnwrapper.unwrap(driver));
+        logger.debug("Seeded {} consent cookies for {}", cookies.size(), browser);
+        return true;
+    }
+
+    /**
+     * @return true if the session's consent was seeded for the current lease
+     */
+    public boolean isConsentSeeded(WebDriver driver) {
+        return seededSessions.contains(DriverUnwrapper.unwrap(driver));
+    }
+
+    /**
+     * Captures the consent state after the banner was accepted, once the
+     * consent cookie has been written. Suitable as a wait condition.
+     *
+     * @param driver session that just accepted the banner
+     * @return true once the state was captured, false while the consent cookie
+     *         is not there yet
+     */
+    public boolean capture(WebDriver driver) {
+        String marker = consentNames.get(0);
+        if (driver.manage().getCookieNamed(marker) == null) {
+            return false;
+        }
+
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            if (consentNames.contains(cookie.getName())) {
+                cookies.add(cookie.toJson());
+            }
+        }
+        Object storage = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT, consentNames);
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("capturedAt", Instant.now().toString());
+        state.put("cookies", cookies);
+        state.put("localStorage", storage);
+
+        String browser = ((HasCapabilities) driver).getCapabilities().getBrowserName().toLowerCase();
+        save(browser, state);
+        states.put(browser, Optional.of(json.toType(json.toJson(state), Json.MAP_TYPE)));
+        logger.info("Captured {} consent cookies for {} on {}", cookies.size(), browser, baseUri.getHost());
+        return true;
+    }
+
+    private Optional<Map<String, Object>> stateFor(String browser) {
+        return states.computeIfAbsent(browser, this::load);
+    }
+
+    private Optional<Map<String, Object>> load(String browser) {
+        Path file = cacheFileFor(browser);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(json.toType(Files.readString(file), Json.MAP_TYPE));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable consent cache {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes through a temp file and an atomic rename so parallel sessions
+     * capturing at once never leave a half-written file.
+     */
+    private void save(String browser, Map<String, Object> state) {
+        Path file = cacheFileFor(browser);
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path temp = Files.createTempFile(cacheDirectory, "consent", ".tmp");
+            Files.write(temp, json.toJson(state).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write consent cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path cacheFileFor(String browser) {
+        return cacheDirectory.resolve(browser + "-" + baseUri.getHost() + ".json");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Cookie> liveCookies(Map<String, Object> state) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (Map<String, Object> stored : (List<Map<String, Object>>) state.get("cookies")) {
+            Object expiry = stored.get("expiry");
+            Date expiryDate = expiry == null ? null : new Date(((Number) expiry).longValue() * 1000);
+            if (expiryDate != null && expiryDate.before(new Date())) {
+                continue;
+            }
+            cookies.add(new Cookie.Builder((String) stored.get("name"), (String) stored.get("value"))
+                    .domain((String) stored.get("domain"))
+                    .path((String) stored.get("path"))
+                    .expiresOn(expiryDate)
+                    .isSecure(Boolean.TRUE.equals(stored.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(stored.get("httpOnly")))
+                    .sameSite((String) stored.get("sameSite"))
+                    .build());
+        }
+        return cookies;
+    }
+}
@@ -0,0 +1,72 @@
+package com.solvd.selenium.session;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import com.solvd.selenium.utils.DriverUnwrapper;
+
+/**
+ * Puts cookies and localStorage entries into a session before it opens the
+ * site. Chrome takes cookies through DevTools {@code Network.setCookie} without
+ * loading a page; otherwise, or when localStorage is needed, a small
+ * same-origin resource is opened first so WebDriver accepts the cookies.
+ */
+final class CookieSeeder {
+
+    // Small same-origin resource to set cookies on when DevTools is not available
+    private static final String BOOTSTRAP_PATH = "/robots.txt";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var entries = arguments[0];"
+            + "Object.keys(entries).forEach(function (key) { localStorage.setItem(key, entries[key]); });";
+
+    private CookieSeeder() {
+    }
+
+    /**
+     * @param driver  session that has not opened the site yet
+     * @param baseUri site the cookies belong to
+     * @param cookies cookies to set
+     * @param storage localStorage entries to set, may be empty
+     */
+    static void seed(WebDriver driver, URI baseUri, List<Cookie> cookies, Map<String, Object> storage) {
+        WebDriver session = DriverUnwrapper.unwrap(driver);
+        if (session instanceof ChromiumDriver && storage.isEmpty()) {
+            cookies.forEach(cookie -> ((ChromiumDriver) session)
+                    .executeCdpCommand("Network.setCookie", toCdpCookie(baseUri, cookie)));
+            return;
+        }
+        driver.get(baseUri.resolve(BOOTSTRAP_PATH).toString());
+        cookies.forEach(cookie -> driver.manage().addCookie(cookie));
+        if (!storage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, storage);
+        }
+    }
+
+    private static Map<String, Object> toCdpCookie(URI baseUri, Cookie cookie) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("name", cookie.getName());
+        params.put("value", cookie.getValue());
+        params.put("url", baseUri.toString());
+        if (cookie.getDomain() != null) {
+            params.put("domain", cookie.getDomain());
+        }
+        params.put("path", cookie.getPath() != null ? cookie.getPath() : "/");
+        params.put("secure", cookie.isSecure());
+        params.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            params.put("expires", cookie.getExpiry().getTime() / 1000);
+        }
+        if (cookie.getSameSite() != null) {
+            params.put("sameSite", cookie.getSameSite());
+        }
+        return params;
+    }
+}
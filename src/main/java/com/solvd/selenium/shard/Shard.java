@@ -0,0 +1,103 @@
+package com.solvd.selenium.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * One of {@code count} deterministic parts of a suite, selected with
+ * {@code shard=index/count} (1-based). Every shard sees the same methods and
+ * assigns them the same way, so the shards of a run together cover every
+ * method exactly once without coordinating.
+ */
+public final class Shard {
+
+    /**
+     * The whole suite.
+     */
+    public static final Shard ALL = new Shard(1, 1);
+
+    private final int index;
+    private final int count;
+
+    public Shard(int index, int count) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new RuntimeException("Invalid shard " + index + "/" + count + ", expected 1/n to n/n");
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Parses a {@code shard} configuration value such as "2/4".
+     *
+     * @throws RuntimeException if the value is not of the form index/count
+     */
+    public static Shard fromConfigValue(String value) {
+        String[] parts = value.trim().split("/");
+        if (parts.length != 2) {
+            throw new RuntimeException("Invalid shard '" + value + "', expected <index>/<count>, e.g. 2/4");
+        }
+        try {
+            return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid shard '" + value + "', expected <index>/<count>, e.g. 2/4", e);
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isAll() {
+        return count == 1;
+    }
+
+    /**
+     * Picks this shard's part of {@code items}. Items are dealt heaviest-first,
+     * ties broken by key, each to the shard with the least total weight so far;
+     * with equal weights that is round-robin over the sorted keys.
+     *
+     * @param items  everything to distribute, in any order
+     * @param key    stable identity of an item, equal on every shard
+     * @param weight expected cost of an item, e.g. its duration
+     * @return the items of this shard, in their original order
+     */
+    public <T> List<T> select(List<T> items, Function<T, String> key, ToLongFunction<T> weight) {
+        if (isAll()) {
+            return items;
+        }
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(weight).reversed().thenComparing(key));
+        long[] loads = new long[count];
+        Set<T> selected = new HashSet<>();
+        for (T item : sorted) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            // Zero-weight items still count, so unweighted selection stays round-robin
+            loads[lightest] += Math.max(1, weight.applyAsLong(item));
+            if (lightest == index - 1) {
+                selected.add(item);
+            }
+        }
+        return items.stream().filter(selected::contains).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,370 @@
+package com.solvd.selenium.shard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import com.solvd.selenium.artifacts.ScreenshotIndex;
+import com.solvd.selenium.listeners.StepTimingReporter;
+
+/**
+ * Combines the artifacts of several shards into one report directory:
+ * <ul>
+ * <li>{@code testng-results.xml} - suites, tests and classes of the same name
+ * merged, counts summed</li>
+ * <li>{@code step-timings.json} - all tests, histograms recomputed over the
+ * whole run</li>
+ * <li>{@code screenshots/} - one index over every shard; blobs are
+ * content-addressed, so identical screenshots of different shards are stored
+ * once</li>
+ * <li>{@code failures/} - failure bundles, prefixed with their shard</li>
+ * </ul>
+ * Each argument after the output directory is the artifact directory
+ * collected from one shard, e.g. a copy of its {@code target} and
+ * {@code test-output} directories. Files are found by name anywhere below it;
+ * screenshots only in a directory named {@code screenshots}, so runs kept by
+ * {@code screenshot.retained.runs} are left out.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.solvd.selenium.shard.ShardReportMerger \
+ *     -Dexec.args="target/merged shard-1 shard-2 shard-3"
+ * </pre>
+ */
+public final class ShardReportMerger {
+
+    public static final String RESULTS_FILE = "testng-results.xml";
+    public static final String SCREENSHOT_DIRECTORY = "screenshots";
+    public static final String FAILURE_DIRECTORY = "failures";
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardReportMerger.class);
+
+    private static final String[] COUNT_ATTRIBUTES = { "ignored", "total", "passed", "failed", "skipped" };
+
+    // TestNG's default timestamp format in testng-results.xml
+    private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd'T'HH:mm:ss z";
+
+    private final Path output;
+    private final List<Path> shards;
+    private final Json json = new Json();
+
+    public ShardReportMerger(Path output, List<Path> shards) {
+        this.output = output;
+        this.shards = shards;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new RuntimeException("Usage: ShardReportMerger <output-directory> <shard-directory>...");
+        }
+        List<Path> shards = Stream.of(args).skip(1).map(Paths::get).collect(Collectors.toList());
+        new ShardReportMerger(Paths.get(args[0]), shards).merge();
+    }
+
+    /**
+     * Writes the merged report to the output directory.
+     */
+    public void merge() throws IOException {
+        for (Path shard : shards) {
+            if (!Files.isDirectory(shard)) {
+                throw new RuntimeException("Shard directory not found: " + shard);
+            }
+        }
+        Files.createDirectories(output);
+        mergeResults();
+        mergeStepTimings();
+        mergeScreenshots();
+        copyFailureBundles();
+    }
+
+    private void mergeResults() throws IOException {
+        Document merged = null;
+        for (Path shard : shards) {
+            Optional<Path> results = findFile(shard, RESULTS_FILE);
+            if (!results.isPresent()) {
+                logger.warn("No {} in shard {}", RESULTS_FILE, shard);
+                continue;
+            }
+            Document document = parse(results.get());
+            if (merged == null) {
+                merged = document;
+                continue;
+            }
+            Element target = merged.getDocumentElement();
+            Element source = document.getDocumentElement();
+            for (String attribute : COUNT_ATTRIBUTES) {
+                target.setAttribute(attribute, String.valueOf(
+                        count(target, attribute) + count(source, attribute)));
+            }
+            mergeChildren(target, source);
+        }
+        if (merged == null) {
+            return;
+        }
+        write(merged, output.resolve(RESULTS_FILE));
+        Element root = merged.getDocumentElement();
+        logger.info("Merged results of {} shards: {} tests, {} passed, {} failed, {} skipped", shards.size(),
+                root.getAttribute("total"), root.getAttribute("passed"), root.getAttribute("failed"),
+                root.getAttribute("skipped"));
+    }
+
+    /**
+     * Moves the children of {@code source} into {@code target}. Suites, tests
+     * and classes present in both are merged by name; everything else, such as
+     * test methods and reporter output lines, is appended.
+     */
+    private void mergeChildren(Element target, Element source) {
+        NodeList children = source.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (!(child instanceof Element)) {
+                continue;
+            }
+            Element element = (Element) child;
+            Optional<Element> existing = isMergedByName(element)
+                    ? findChild(target, element.getTagName(), element.getAttribute("name"))
+                    : Optional.empty();
+            if (existing.isPresent()) {
+                if (element.hasAttribute("duration-ms")) {
+                    mergeTimes(existing.get(), element);
+                }
+                mergeChildren(existing.get(), element);
+            } else if (element.getTagName().equals("reporter-output")
+                    && findChild(target, "reporter-output", "").isPresent()) {
+                mergeChildren(findChild(target, "reporter-output", "").get(), element);
+            } else {
+                target.appendChild(target.getOwnerDocument().importNode(element, true));
+            }
+        }
+    }
+
+    // Shards run side by side, so a merged suite or test spans the earliest start to the latest finish
+    private static void mergeTimes(Element target, Element source) {
+        long longestShard = Math.max(count(target, "duration-ms"), count(source, "duration-ms"));
+        Date targetStart = timestampOf(target, "started-at");
+        Date sourceStart = timestampOf(source, "started-at");
+        Date targetFinish = timestampOf(target, "finished-at");
+        Date sourceFinish = timestampOf(source, "finished-at");
+        if (targetStart == null || sourceStart == null || targetFinish == null || sourceFinish == null) {
+            logger.warn("Unreadable timestamps on <{} name=\"{}\">, keeping the longest shard duration",
+                    target.getTagName(), target.getAttribute("name"));
+            target.setAttribute("duration-ms", String.valueOf(longestShard));
+            return;
+        }
+
+        if (sourceStart.before(targetStart)) {
+            target.setAttribute("started-at", source.getAttribute("started-at"));
+            targetStart = sourceStart;
+        }
+        if (sourceFinish.after(targetFinish)) {
+            target.setAttribute("finished-at", source.getAttribute("finished-at"));
+            targetFinish = sourceFinish;
+        }
+        // Timestamps are whole seconds, the span can still not be shorter than any shard
+        target.setAttribute("duration-ms", String.valueOf(
+                Math.max(targetFinish.getTime() - targetStart.getTime(), longestShard)));
+    }
+
+    private static Date timestampOf(Element element, String attribute) {
+        try {
+            return new SimpleDateFormat(TIMESTAMP_FORMAT).parse(element.getAttribute(attribute));
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean isMergedByName(Element element) {
+        String tag = element.getTagName();
+        return tag.equals("suite") || tag.equals("test") || tag.equals("class") || tag.equals("groups");
+    }
+
+    private static Optional<Element> findChild(Element parent, String tag, String name) {
+        NodeList children = parent.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element && ((Element) child).getTagName().equals(tag)
+                    && ((Element) child).getAttribute("name").equals(name)) {
+                return Optional.of((Element) child);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static long count(Element element, String attribute) {
+        String value = element.getAttribute(attribute);
+        return value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mergeStepTimings() throws IOException {
+        List<Map<String, Object>> tests = new ArrayList<>();
+        for (Path shard : shards) {
+            Optional<Path> report = findFile(shard, StepTimingReporter.REPORT_FILE);
+            if (!report.isPresent()) {
+                continue;
+            }
+            Map<String, Object> shardReport = json.toType(Files.readString(report.get()), Json.MAP_TYPE);
+            for (Map<String, Object> test : (List<Map<String, Object>>) shardReport.get("tests")) {
+                Map<String, Object> labelled = new LinkedHashMap<>(test);
+                labelled.put("shard", labelOf(shard));
+                tests.add(labelled);
+            }
+        }
+        if (tests.isEmpty()) {
+            return;
+        }
+        writeJson(StepTimingReporter.summarize(tests), output.resolve(StepTimingReporter.REPORT_FILE));
+        logger.info("Merged step timings of {} tests", tests.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mergeScreenshots() throws IOException {
+        Path targetDirectory = output.resolve(SCREENSHOT_DIRECTORY);
+        Path targetBlobs = targetDirectory.resolve(ScreenshotIndex.BLOB_DIRECTORY);
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Path shard : shards) {
+            Optional<Path> index = findScreenshotIndex(shard);
+            if (!index.isPresent()) {
+                continue;
+            }
+            Files.createDirectories(targetBlobs);
+            try (Stream<Path> blobs = Files.list(index.get().resolveSibling(ScreenshotIndex.BLOB_DIRECTORY))) {
+                for (Path blob : (Iterable<Path>) blobs::iterator) {
+                    Path target = targetBlobs.resolve(blob.getFileName().toString());
+                    // Same name, same content: blobs are named by the SHA-256 of their screenshot
+                    if (!Files.exists(target)) {
+                        Files.copy(blob, target);
+                    }
+                }
+            }
+            Map<String, Object> shardIndex = json.toType(Files.readString(index.get()), Json.MAP_TYPE);
+            for (Map<String, Object> entry : (List<Map<String, Object>>) shardIndex.get("entries")) {
+                Map<String, Object> labelled = new LinkedHashMap<>(entry);
+                labelled.put("shard", labelOf(shard));
+                entries.add(labelled);
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        long blobCount;
+        try (Stream<Path> blobs = Files.list(targetBlobs)) {
+            blobCount = blobs.count();
+        }
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("screenshots", entries.size());
+        index.put("blobs", blobCount);
+        index.put("entries", entries);
+        writeJson(index, targetDirectory.resolve(ScreenshotIndex.INDEX_FILE));
+        logger.info("Merged {} screenshots into {} distinct images", entries.size(), blobCount);
+    }
+
+    private void copyFailureBundles() throws IOException {
+        Path targetDirectory = output.resolve(FAILURE_DIRECTORY);
+        int copied = 0;
+        for (Path shard : shards) {
+            List<Path> bundles;
+            try (Stream<Path> files = Files.walk(shard)) {
+                bundles = files.filter(file -> file.getFileName().toString().endsWith(".zip"))
+                        .filter(file -> file.getParent().getFileName().toString().equals(FAILURE_DIRECTORY))
+                        .collect(Collectors.toList());
+            }
+            for (Path bundle : bundles) {
+                Files.createDirectories(targetDirectory);
+                Files.copy(bundle, targetDirectory.resolve(labelOf(shard) + "_" + bundle.getFileName()),
+                        StandardCopyOption.REPLACE_EXISTING);
+                copied++;
+            }
+        }
+        if (copied > 0) {
+            logger.info("Copied {} failure bundles", copied);
+        }
+    }
+
+    /**
+     * Index of the shard's screenshot directory. Rotated runs next to it,
+     * e.g. {@code screenshots.run-<timestamp>}, are not considered.
+     *
+     * @throws RuntimeException if the shard holds more than one screenshot
+     *                          directory, e.g. from two test-output copies
+     */
+    private static Optional<Path> findScreenshotIndex(Path shard) throws IOException {
+        List<Path> indexes;
+        try (Stream<Path> files = Files.walk(shard)) {
+            indexes = files.filter(file -> file.getFileName().toString().equals(ScreenshotIndex.INDEX_FILE))
+                    .filter(file -> file.getParent().getFileName().toString().equals(SCREENSHOT_DIRECTORY))
+                    .filter(file -> Files.isDirectory(file.resolveSibling(ScreenshotIndex.BLOB_DIRECTORY)))
+                    .collect(Collectors.toList());
+        }
+        if (indexes.size() > 1) {
+            throw new RuntimeException("More than one " + SCREENSHOT_DIRECTORY + "/" + ScreenshotIndex.INDEX_FILE
+                    + " in shard " + shard + ": " + indexes);
+        }
+        return indexes.stream().findFirst();
+    }
+
+    private static Optional<Path> findFile(Path directory, String fileName) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.getFileName().toString().equals(fileName)).sorted().findFirst();
+        }
+    }
+
+    private static String labelOf(Path shard) {
+        return shard.toAbsolutePath().normalize().getFileName().toString();
+    }
+
+    private static Document parse(Path file) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            return factory.newDocumentBuilder().parse(file.toFile());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Failed to parse " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void write(Document document, Path file) throws IOException {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+            transformer.transform(new DOMSource(document), new StreamResult(file.toFile()));
+        } catch (TransformerException e) {
+            throw new IOException("Failed to write " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void writeJson(Map<String, Object> content, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, json.toJson(content).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,42 @@
+package com.solvd.selenium.threads;
+
+/**
+ * Kind of threads the framework starts for blocking work: TestNG workers,
+ * background artifact writers, the fixture server and the record/replay
+ * proxy.
+ */
+public enum ThreadMode {
+
+    /**
+     * Operating system threads, available on every supported Java version.
+     */
+    PLATFORM("platform"),
+
+    /**
+     * Virtual threads, which release their carrier while blocked on I/O.
+     * Needs Java 21; older runtimes fall back to {@link #PLATFORM}.
+     */
+    VIRTUAL("virtual");
+
+    private final String configValue;
+
+    ThreadMode(String configValue) {
+        this.configValue = configValue;
+    }
+
+    /**
+     * Parses the {@code threads.mode} configuration value.
+     *
+     * @param value configuration value, e.g. "virtual"
+     * @return matching mode
+     * @throws RuntimeException if the value is not a known mode
+     */
+    public static ThreadMode fromConfigValue(String value) {
+        for (ThreadMode mode : values()) {
+            if (mode.configValue.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new RuntimeException("Unknown thread mode '" + value + "', expected 'platform' or 'virtual'");
+    }
+}
@@ -0,0 +1,145 @@
+package com.solvd.selenium.threads;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Creates the framework's threads in the configured {@link ThreadMode}.
+ * <p>
+ * The code is compiled for Java 11, so virtual threads are created through
+ * reflection on {@code Thread.ofVirtual()}. With {@code threads.mode=virtual}
+ * on a runtime without them, a warning is logged once and platform threads
+ * are used instead.
+ */
+public final class Threads {
+
+    private static final Logger logger = LoggerFactory.getLogger(Threads.class);
+
+    private static final boolean VIRTUAL_SUPPORTED = probeVirtualThreads();
+    private static final ThreadMode MODE = resolveMode(ConfigManager.getInstance().getThreadMode());
+
+    private Threads() {
+    }
+
+    /**
+     * Mode in effect for this JVM, after falling back from an unsupported
+     * {@code threads.mode=virtual}.
+     */
+    public static ThreadMode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Whether the running JVM can start virtual threads.
+     */
+    public static boolean isVirtualSupported() {
+        return VIRTUAL_SUPPORTED;
+    }
+
+    /**
+     * Factory for threads named {@code <name>-1}, {@code <name>-2}, ... in the
+     * configured mode. Platform threads are daemons, as virtual threads always
+     * are.
+     *
+     * @param name thread name prefix
+     */
+    public static ThreadFactory newFactory(String name) {
+        return newFactory(name, MODE);
+    }
+
+    /**
+     * Factory for threads named {@code <name>-1}, {@code <name>-2}, ... in the
+     * given mode.
+     *
+     * @param name thread name prefix
+     * @param mode kind of threads to create
+     * @throws RuntimeException if virtual threads are requested but not
+     *                          supported by this JVM
+     */
+    public static ThreadFactory newFactory(String name, ThreadMode mode) {
+        if (mode == ThreadMode.VIRTUAL) {
+            requireVirtualSupport();
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to create virtual thread factory for " + name, e);
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executor starting a new thread for every task, in the configured mode.
+     * Platform threads are cached for reuse; virtual threads are cheap enough
+     * to never be pooled.
+     *
+     * @param name thread name prefix
+     */
+    public static ExecutorService newPerTaskExecutor(String name) {
+        return newPerTaskExecutor(name, MODE);
+    }
+
+    /**
+     * Executor starting a new thread for every task, in the given mode.
+     *
+     * @param name thread name prefix
+     * @param mode kind of threads to create
+     * @throws RuntimeException if virtual threads are requested but not
+     *                          supported by this JVM
+     */
+    public static ExecutorService newPerTaskExecutor(String name, ThreadMode mode) {
+        ThreadFactory factory = newFactory(name, mode);
+        if (mode == ThreadMode.VIRTUAL) {
+            try {
+                Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) perTask.invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to create virtual thread executor for " + name, e);
+            }
+        }
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    private static void requireVirtualSupport() {
+        if (!VIRTUAL_SUPPORTED) {
+            throw new RuntimeException("Virtual threads need Java 21 or newer, running on Java "
+                    + System.getProperty("java.version"));
+        }
+    }
+
+    private static ThreadMode resolveMode(ThreadMode configured) {
+        if (configured == ThreadMode.VIRTUAL && !VIRTUAL_SUPPORTED) {
+            logger.warn("threads.mode=virtual needs Java 21 or newer, using platform threads on Java {}",
+                    System.getProperty("java.version"));
+            return ThreadMode.PLATFORM;
+        }
+        logger.info("Thread mode: {}", configured);
+        return configured;
+    }
+
+    private static boolean probeVirtualThreads() {
+        try {
+            // Preview builds of Java 19 and 20 have the method but refuse to run it
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.solvd.selenium.timing;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Counts WebDriver commands for {@link StepTimer} on the calling thread.
+ * Attach with an {@code EventFiringDecorator}; accessors such as
+ * {@code manage()} or {@code navigate()} that only return another interface
+ * do not reach the browser and are not counted.
+ */
+public class CommandCounter implements WebDriverListener {
+
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "window", "timeouts",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!isLocal(method)) {
+            StepTimer.countCommand();
+        }
+    }
+
+    /**
+     * True for decorated methods answered without a browser round trip.
+     */
+    static boolean isLocal(Method method) {
+        return LOCAL_METHODS.contains(method.getName());
+    }
+}
@@ -0,0 +1,210 @@
+package com.solvd.selenium.timing;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Records every WebDriver command issued through a decorated driver with its
+ * latency. One trace covers one test; {@link #writeTo} saves it in the Chrome
+ * trace-event format, which opens in chrome://tracing, Perfetto or
+ * speedscope as a timeline per thread.
+ */
+public class CommandTrace implements WebDriverListener {
+
+    /**
+     * Test result attribute holding the trace of that test.
+     */
+    public static final String RESULT_ATTRIBUTE = "commandTrace";
+
+    private static final int MAX_ARGUMENT_LENGTH = 120;
+
+    private final String name;
+    private final long originNanos = System.nanoTime();
+    private final List<Map<String, Object>> events = new ArrayList<>();
+    private final Map<String, CommandStats> stats = new LinkedHashMap<>();
+    private final ThreadLocal<Deque<Long>> openCalls = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * @param name trace name, e.g. the test method, stored in the trace metadata
+     */
+    public CommandTrace(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!CommandCounter.isLocal(method)) {
+            openCalls.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (!CommandCounter.isLocal(method)) {
+            complete(method, args, null);
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (!CommandCounter.isLocal(method)) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            complete(method, args, cause.getClass().getSimpleName());
+        }
+    }
+
+    private void complete(Method method, Object[] args, String error) {
+        Deque<Long> calls = openCalls.get();
+        if (calls.isEmpty()) {
+            return;
+        }
+        long startNanos = calls.pop();
+        long durationNanos = System.nanoTime() - startNanos;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        Map<String, Object> eventArgs = new LinkedHashMap<>();
+        String arguments = describe(args);
+        if (!arguments.isEmpty()) {
+            eventArgs.put("args", arguments);
+        }
+        if (error != null) {
+            eventArgs.put("error", error);
+        }
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", command);
+        event.put("cat", error == null ? "webdriver" : "webdriver,error");
+        event.put("ph", "X");
+        event.put("ts", TimeUnit.NANOSECONDS.toMicros(startNanos - originNanos));
+        event.put("dur", TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        event.put("pid", 1);
+        event.put("tid", Thread.currentThread().getId());
+        event.put("args", eventArgs);
+
+        synchronized (this) {
+            events.add(event);
+            stats.computeIfAbsent(command, key -> new CommandStats()).add(durationNanos);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getCommandCount() {
+        return events.size();
+    }
+
+    /**
+     * Number of calls per command, most frequent first.
+     */
+    public synchronized Map<String, Integer> getCommandCounts() {
+        return stats.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, CommandStats> entry) -> entry.getValue().count)
+                        .reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().count, (a, b) -> a,
+                        LinkedHashMap::new));
+    }
+
+    public synchronized long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stats.values().stream().mapToLong(entry -> entry.nanos).sum());
+    }
+
+    /**
+     * Writes the trace as Chrome trace-event JSON, with the per-command summary
+     * under {@code otherData}.
+     *
+     * @param file target file; parent directories are created
+     * @throws RuntimeException if the file cannot be written
+     */
+    public void writeTo(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, new Json().toJson(toJson()).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write command trace to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The trace in Chrome trace-event form, with the per-command summary under
+     * {@code otherData}.
+     */
+    public Map<String, Object> toJson() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Map<String, Object> trace = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.forEach((command, entry) -> summary.put(command, Map.of(
+                    "count", entry.count,
+                    "totalMillis", TimeUnit.NANOSECONDS.toMillis(entry.nanos),
+                    "maxMillis", TimeUnit.NANOSECONDS.toMillis(entry.maxNanos))));
+            trace.put("traceEvents", new ArrayList<>(events));
+        }
+        trace.put("displayTimeUnit", "ms");
+        trace.put("otherData", Map.of("name", name, "commands", getCommandCount(), "commandCounts", summary));
+        return trace;
+    }
+
+    @Override
+    public String toString() {
+        String top = getCommandCounts().entrySet().stream().limit(5)
+                .map(entry -> entry.getKey() + " x" + entry.getValue())
+                .collect(Collectors.joining(", "));
+        return String.format("%d commands in %dms (%s)", getCommandCount(), getTotalMillis(), top);
+    }
+
+    private static String describe(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "";
+        }
+        List<String> described = new ArrayList<>();
+        for (Object arg : args) {
+            if (arg instanceof By || arg instanceof String || arg instanceof Number || arg instanceof Boolean) {
+                described.add(truncate(String.valueOf(arg)));
+            } else if (arg instanceof CharSequence[]) {
+                described.add("<keys>");
+            } else if (arg != null) {
+                described.add("<" + arg.getClass().getSimpleName() + ">");
+            }
+        }
+        return String.join(", ", described);
+    }
+
+    private static String truncate(String value) {
+        String singleLine = value.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_ARGUMENT_LENGTH ? singleLine
+                : singleLine.substring(0, MAX_ARGUMENT_LENGTH) + "...";
+    }
+
+    private static final class CommandStats {
+        private int count;
+        private long nanos;
+        private long maxNanos;
+
+        void add(long durationNanos) {
+            count++;
+            nanos += durationNanos;
+            maxNanos = Math.max(maxNanos, durationNanos);
+        }
+    }
+}
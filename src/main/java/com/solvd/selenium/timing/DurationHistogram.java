@@ -0,0 +1,86 @@
+package com.solvd.selenium.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-bucket histogram of durations in milliseconds. Bucket bounds follow a
+ * 1-2-5 series, which keeps percentiles within one bucket of the truth at a
+ * constant size.
+ */
+public class DurationHistogram {
+
+    private static final long[] UPPER_BOUNDS_MILLIS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 60_000 };
+
+    private final long[] counts = new long[UPPER_BOUNDS_MILLIS.length + 1];
+    private long count;
+    private double sumMillis;
+    private double maxMillis;
+
+    public synchronized void record(double millis) {
+        int bucket = 0;
+        while (bucket < UPPER_BOUNDS_MILLIS.length && millis > UPPER_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        count++;
+        sumMillis += millis;
+        maxMillis = Math.max(maxMillis, millis);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getSumMillis() {
+        return sumMillis;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, capped at the
+     * largest recorded value.
+     *
+     * @param percentile 0-100
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return bucket < UPPER_BOUNDS_MILLIS.length
+                        ? Math.min(UPPER_BOUNDS_MILLIS[bucket], maxMillis)
+                        : maxMillis;
+            }
+        }
+        return maxMillis;
+    }
+
+    public synchronized Map<String, Object> toJson() {
+        Map<String, Object> buckets = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] > 0) {
+                String label = bucket < UPPER_BOUNDS_MILLIS.length ? "le" + UPPER_BOUNDS_MILLIS[bucket] : "gt"
+                        + UPPER_BOUNDS_MILLIS[UPPER_BOUNDS_MILLIS.length - 1];
+                buckets.put(label, counts[bucket]);
+            }
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("count", count);
+        json.put("sumMillis", round(sumMillis));
+        json.put("maxMillis", round(maxMillis));
+        json.put("p50Millis", round(getPercentileMillis(50)));
+        json.put("p90Millis", round(getPercentileMillis(90)));
+        json.put("p99Millis", round(getPercentileMillis(99)));
+        json.put("buckets", buckets);
+        return json;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.solvd.selenium.timing;
+
+/**
+ * A timed page-object action, closed with try-with-resources.
+ */
+public interface Step extends AutoCloseable {
+
+    /**
+     * Shared step returned while timing is disabled; closing it does nothing.
+     */
+    Step NOOP = () -> {
+    };
+
+    /**
+     * Marks the step as failed. Call from the action's error handling, whether
+     * or not the error is rethrown.
+     *
+     * @param cause what the action failed with
+     */
+    default void fail(Throwable cause) {
+    }
+
+    @Override
+    void close();
+}
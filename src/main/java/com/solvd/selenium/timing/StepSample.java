@@ -0,0 +1,88 @@
+package com.solvd.selenium.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One measured page-object action.
+ */
+public class StepSample {
+
+    /**
+     * Outcome of a step that did not fail.
+     */
+    public static final String OK = "ok";
+
+    private final String page;
+    private final String action;
+    private final int depth;
+    private final long wallMicros;
+    private final long waitMillis;
+    private final long commands;
+    private final String outcome;
+
+    StepSample(String page, String action, int depth, long wallMicros, long waitMillis, long commands,
+            String outcome) {
+        this.page = page;
+        this.action = action;
+        this.depth = depth;
+        this.wallMicros = wallMicros;
+        this.waitMillis = waitMillis;
+        this.commands = commands;
+        this.outcome = outcome;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Nesting level, 0 for a step not started inside another step. Times of
+     * nested steps are included in their parent's.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getWallMicros() {
+        return wallMicros;
+    }
+
+    /**
+     * Time spent inside explicit waits during the step.
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * WebDriver commands issued during the step, or -1 when commands are not
+     * counted.
+     */
+    public long getCommands() {
+        return commands;
+    }
+
+    /**
+     * {@link #OK}, or the simple name of the exception the step failed with.
+     */
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("page", page);
+        json.put("action", action);
+        json.put("depth", depth);
+        json.put("wallMicros", wallMicros);
+        json.put("waitMillis", waitMillis);
+        json.put("commands", commands);
+        json.put("outcome", outcome);
+        return json;
+    }
+}
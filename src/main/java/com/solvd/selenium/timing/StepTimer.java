@@ -0,0 +1,163 @@
+package com.solvd.selenium.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.jfr.PageActionEvent;
+import com.solvd.selenium.waits.WaitStats;
+
+/**
+ * Per-thread timing of page-object actions. Pages wrap each action in
+ * {@code try (Step step = StepTimer.start(getClass(), "action"))}; every step
+ * records its wall time, the time spent in explicit waits and the number of
+ * WebDriver commands counted by {@link CommandCounter} while it was open.
+ * <p>
+ * Steps are also emitted as {@link PageActionEvent}s while a flight recording
+ * is running. With {@code timing.steps.enabled=false} and no recording,
+ * {@link #start} returns a shared no-op step.
+ */
+public final class StepTimer {
+
+    private static final boolean ENABLED = ConfigManager.getInstance().isStepTimingEnabled();
+
+    private static final ThreadLocal<Recorder> CURRENT = ThreadLocal.withInitial(Recorder::new);
+
+    private StepTimer() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Opens a step on the calling thread.
+     *
+     * @param page   page object class the action belongs to
+     * @param action action name, e.g. "clickElement"
+     * @return the step to close when the action ends
+     */
+    public static Step start(Class<?> page, String action) {
+        return start(page, action, null);
+    }
+
+    /**
+     * Opens a step on the calling thread for an action on an element.
+     *
+     * @param page   page object class the action belongs to
+     * @param action action name, e.g. "clickElement"
+     * @param target element or field name the action works on, described in
+     *               flight recordings only
+     * @return the step to close when the action ends
+     */
+    public static Step start(Class<?> page, String action, Object target) {
+        PageActionEvent event = new PageActionEvent();
+        boolean recorded = event.isEnabled();
+        if (!ENABLED && !recorded) {
+            return Step.NOOP;
+        }
+        if (recorded) {
+            event.page = page.getSimpleName();
+            event.action = action;
+            event.locator = describe(target);
+            event.begin();
+        }
+        return new ActiveStep(ENABLED ? CURRENT.get() : null, page.getSimpleName(), action,
+                recorded ? event : null);
+    }
+
+    /**
+     * Starts a fresh recording for the calling thread, e.g. per test.
+     *
+     * @param commandsCounted true if the thread's driver is decorated with a
+     *                        {@link CommandCounter}
+     */
+    public static void reset(boolean commandsCounted) {
+        CURRENT.set(new Recorder(commandsCounted));
+    }
+
+    /**
+     * Steps recorded on the calling thread since the last reset.
+     */
+    public static StepTimings finish() {
+        Recorder recorder = CURRENT.get();
+        CURRENT.remove();
+        return new StepTimings(recorder.samples);
+    }
+
+    static void countCommand() {
+        CURRENT.get().commands++;
+    }
+
+    private static String describe(Object target) {
+        if (target == null) {
+            return null;
+        }
+        // PageFactory proxies describe their locator without a browser call
+        return String.valueOf(target).replace("Proxy element for: ", "");
+    }
+
+    private static final class ActiveStep implements Step {
+        private final Recorder recorder;
+        private final String page;
+        private final String action;
+        private final PageActionEvent event;
+        private final long startNanos = System.nanoTime();
+        private final long startWaitMillis;
+        private final long startCommands;
+        private final int depth;
+        private String outcome = StepSample.OK;
+
+        ActiveStep(Recorder recorder, String page, String action, PageActionEvent event) {
+            this.recorder = recorder;
+            this.page = page;
+            this.action = action;
+            this.event = event;
+            this.startWaitMillis = recorder != null ? Recorder.waitedMillis() : 0;
+            this.startCommands = recorder != null ? recorder.commands : 0;
+            this.depth = recorder != null ? recorder.depth++ : 0;
+        }
+
+        @Override
+        public void fail(Throwable cause) {
+            outcome = cause.getClass().getSimpleName();
+        }
+
+        @Override
+        public void close() {
+            if (event != null) {
+                event.outcome = outcome;
+                event.commit();
+            }
+            if (recorder != null) {
+                recorder.depth--;
+                recorder.samples.add(new StepSample(page, action, depth,
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos),
+                        Recorder.waitedMillis() - startWaitMillis,
+                        recorder.commandsCounted ? recorder.commands - startCommands : -1,
+                        outcome));
+            }
+        }
+    }
+
+    private static final class Recorder {
+        private final boolean commandsCounted;
+        private final List<StepSample> samples = new ArrayList<>();
+        private long commands;
+        private int depth;
+
+        Recorder() {
+            this(false);
+        }
+
+        Recorder(boolean commandsCounted) {
+            this.commandsCounted = commandsCounted;
+        }
+
+        private static long waitedMillis() {
+            WaitStats waitStats = WaitStats.current();
+            return waitStats.getWaitMillis() + waitStats.getTimeoutMillis();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.solvd.selenium.timing;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Steps measured during one test, in completion order.
+ */
+public class StepTimings {
+
+    /**
+     * Test result attribute holding the timings of that test.
+     */
+    public static final String RESULT_ATTRIBUTE = "stepTimings";
+
+    private final List<StepSample> samples;
+
+    StepTimings(List<StepSample> samples) {
+        this.samples = Collections.unmodifiableList(samples);
+    }
+
+    public List<StepSample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * Wall time of the outermost steps, i.e. time spent inside page objects.
+     */
+    public long getTopLevelMillis() {
+        return samples.stream().filter(sample -> sample.getDepth() == 0).mapToLong(StepSample::getWallMicros).sum()
+                / 1000;
+    }
+
+    public long getTopLevelWaitMillis() {
+        return samples.stream().filter(sample -> sample.getDepth() == 0).mapToLong(StepSample::getWaitMillis).sum();
+    }
+
+    public long getTopLevelCommands() {
+        return samples.stream().filter(sample -> sample.getDepth() == 0)
+                .mapToLong(StepSample::getCommands).filter(commands -> commands > 0).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d steps, %dms in page objects (%dms waiting), %d WebDriver commands",
+                samples.size(), getTopLevelMillis(), getTopLevelWaitMillis(), getTopLevelCommands());
+    }
+}
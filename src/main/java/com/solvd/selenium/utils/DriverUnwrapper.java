@@ -0,0 +1,30 @@
+package com.solvd.selenium.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+
+/**
+ * Reaches the browser session behind decorated drivers, for code that
+ * depends on the concrete driver type or keys state by session.
+ */
+public final class DriverUnwrapper {
+
+    private DriverUnwrapper() {
+    }
+
+    /**
+     * @param driver a driver, possibly wrapped by one or more decorators
+     * @return the innermost driver
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver) {
+            WebDriver wrapped = ((WrapsDriver) current).getWrappedDriver();
+            if (wrapped == null || wrapped == current) {
+                break;
+            }
+            current = wrapped;
+        }
+        return current;
+    }
+}
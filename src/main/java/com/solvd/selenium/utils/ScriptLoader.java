@@ -0,0 +1,38 @@
+package com.solvd.selenium.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads JavaScript snippets shipped as classpath resources, once per JVM.
+ */
+public final class ScriptLoader {
+
+    private static final Map<String, String> SCRIPTS = new ConcurrentHashMap<>();
+
+    private ScriptLoader() {
+    }
+
+    /**
+     * @param resource absolute classpath resource, e.g. "/js/dom-wait.js"
+     * @return script source
+     * @throws RuntimeException if the resource is missing or unreadable
+     */
+    public static String load(String resource) {
+        return SCRIPTS.computeIfAbsent(resource, ScriptLoader::read);
+    }
+
+    private static String read(String resource) {
+        try (InputStream input = ScriptLoader.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new RuntimeException("Script '" + resource + "' not found in classpath");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading script '" + resource + "': " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.solvd.selenium.waits;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+/**
+ * Locator factory for {@code @FindBy} fields that takes over the role of the
+ * driver's implicit wait. Outside explicit waits a lookup retries until the
+ * element lookup budget expires; inside an explicit wait it makes a single
+ * attempt, because the surrounding wait already retries. This keeps the two
+ * timeouts from ever stacking.
+ */
+public class BudgetedElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final long RETRY_INTERVAL_MILLIS = 250;
+
+    private final SearchContext searchContext;
+    private final Duration lookupBudget;
+
+    public BudgetedElementLocatorFactory(SearchContext searchContext, Duration lookupBudget) {
+        this.searchContext = searchContext;
+        this.lookupBudget = lookupBudget;
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return new BudgetedElementLocator(searchContext, field);
+    }
+
+    private class BudgetedElementLocator extends DefaultElementLocator {
+
+        BudgetedElementLocator(SearchContext searchContext, Field field) {
+            super(searchContext, field);
+        }
+
+        @Override
+        public WebElement findElement() {
+            long deadline = deadline();
+            while (true) {
+                try {
+                    return super.findElement();
+                } catch (NoSuchElementException e) {
+                    if (System.nanoTime() >= deadline) {
+                        throw e;
+                    }
+                    pause();
+                }
+            }
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            long deadline = deadline();
+            List<WebElement> elements = super.findElements();
+            while (elements.isEmpty() && System.nanoTime() < deadline) {
+                pause();
+                elements = super.findElements();
+            }
+            return elements;
+        }
+
+        private long deadline() {
+            return WaitStats.current().isInExplicitWait() ? System.nanoTime() : System.nanoTime() + lookupBudget.toNanos();
+        }
+
+        private void pause() {
+            try {
+                Thread.sleep(RETRY_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NoSuchElementException("Interrupted while locating element", e);
+            }
+        }
+    }
+}
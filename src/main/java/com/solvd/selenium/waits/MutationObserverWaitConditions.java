@@ -0,0 +1,95 @@
+package com.solvd.selenium.waits;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.solvd.selenium.utils.ScriptLoader;
+
+/**
+ * Conditions resolved inside the browser by a MutationObserver.
+ * Each check is one executeAsyncScript call that returns as soon as the DOM
+ * satisfies the condition or after {@code wait.event.slice.millis}, whichever
+ * comes first. If the driver cannot run the script the equivalent polling
+ * condition is evaluated instead, so callers never see the difference.
+ */
+public class MutationObserverWaitConditions implements WaitConditions {
+
+    private static final Logger logger = LoggerFactory.getLogger(MutationObserverWaitConditions.class);
+    private static final String WAIT_SCRIPT = ScriptLoader.load("/js/dom-wait.js");
+
+    private final WaitConditions fallback;
+    private final long sliceMillis;
+
+    public MutationObserverWaitConditions(WaitConditions fallback, long sliceMillis) {
+        this.fallback = fallback;
+        this.sliceMillis = sliceMillis;
+    }
+
+    @Override
+    public ExpectedCondition<WebElement> visibilityOf(WebElement element) {
+        return eventDriven("visible", Collections.singletonList(element), null, element,
+                fallback.visibilityOf(element));
+    }
+
+    @Override
+    public ExpectedCondition<List<WebElement>> visibilityOfAllElements(List<WebElement> elements) {
+        return eventDriven("visible", elements, null, elements, fallback.visibilityOfAllElements(elements));
+    }
+
+    @Override
+    public ExpectedCondition<WebElement> elementToBeClickable(WebElement element) {
+        return eventDriven("clickable", Collections.singletonList(element), null, element,
+                fallback.elementToBeClickable(element));
+    }
+
+    @Override
+    public ExpectedCondition<Boolean> textToBePresentInElement(WebElement element, String text) {
+        return eventDriven("text", Collections.singletonList(element), text, Boolean.TRUE,
+                fallback.textToBePresentInElement(element, text));
+    }
+
+    @Override
+    public ExpectedCondition<Boolean> documentReady() {
+        return eventDriven("ready", Collections.emptyList(), null, Boolean.TRUE, fallback.documentReady());
+    }
+
+    private <T> ExpectedCondition<T> eventDriven(String condition, List<WebElement> elements, String text,
+            T satisfiedValue, ExpectedCondition<T> pollingCondition) {
+        return new ExpectedCondition<T>() {
+            @Override
+            public T apply(WebDriver driver) {
+                if (!(driver instanceof JavascriptExecutor)) {
+                    return pollingCondition.apply(driver);
+                }
+                try {
+                    Object result = ((JavascriptExecutor) driver)
+                            .executeAsyncScript(WAIT_SCRIPT, condition, elements, text, sliceMillis);
+                    // null tells WebDriverWait to call again, which re-arms the observer
+                    return Boolean.TRUE.equals(result) ? satisfiedValue : null;
+                } catch (StaleElementReferenceException e) {
+                    return null;
+                } catch (JavascriptException | ScriptTimeoutException | UnsupportedCommandException e) {
+                    logger.debug("Event-driven wait for '{}' failed, falling back to polling: {}",
+                            condition, e.getMessage());
+                    return pollingCondition.apply(driver);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return String.format("event-driven '%s' (fallback: %s)", condition, pollingCondition);
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.solvd.selenium.waits;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.solvd.selenium.jfr.WaitEvent;
+
+/**
+ * WebDriverWait that reports to {@link WaitStats} and marks the calling thread
+ * as waiting, so page-object element lookups do not add a wait of their own.
+ * Each wait is also emitted as a {@link WaitEvent} while a flight recording is
+ * running.
+ */
+public class PolicyWait extends WebDriverWait {
+
+    private final Duration timeout;
+
+    public PolicyWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        WaitStats stats = WaitStats.current();
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        String outcome = "satisfied";
+        stats.enterWait();
+        try {
+            return super.until(isTrue);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            outcome = "timeout";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            stats.exitWait(System.nanoTime() - start, timedOut);
+            if (event.shouldCommit()) {
+                event.condition = String.valueOf(isTrue);
+                event.budgetMillis = timeout.toMillis();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.solvd.selenium.waits;
+
+import java.util.List;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+/**
+ * Conditions backed by Selenium's {@link ExpectedConditions}; every check is a
+ * separate WebDriver round trip repeated at the WebDriverWait polling interval.
+ */
+public class PollingWaitConditions implements WaitConditions {
+
+    @Override
+    public ExpectedCondition<WebElement> visibilityOf(WebElement element) {
+        return ExpectedConditions.visibilityOf(element);
+    }
+
+    @Override
+    public ExpectedCondition<List<WebElement>> visibilityOfAllElements(List<WebElement> elements) {
+        return ExpectedConditions.visibilityOfAllElements(elements);
+    }
+
+    @Override
+    public ExpectedCondition<WebElement> elementToBeClickable(WebElement element) {
+        return ExpectedConditions.elementToBeClickable(element);
+    }
+
+    @Override
+    public ExpectedCondition<Boolean> textToBePresentInElement(WebElement element, String text) {
+        return ExpectedConditions.textToBePresentInElement(element, text);
+    }
+
+    @Override
+    public ExpectedCondition<Boolean> documentReady() {
+        return driver -> {
+            if (driver instanceof JavascriptExecutor) {
+                Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState");
+                return "complete".equals(state);
+            }
+            return false;
+        };
+    }
+}
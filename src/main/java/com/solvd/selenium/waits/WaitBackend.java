@@ -0,0 +1,41 @@
+package com.solvd.selenium.waits;
+
+/**
+ * Implementation used to evaluate page-object wait conditions.
+ */
+public enum WaitBackend {
+
+    /**
+     * Selenium's {@code ExpectedConditions}, re-checked by WebDriverWait every
+     * polling interval.
+     */
+    POLLING("polling"),
+
+    /**
+     * A MutationObserver installed in the page that resolves a single
+     * executeAsyncScript call as soon as the DOM satisfies the condition.
+     */
+    MUTATION_OBSERVER("mutation-observer");
+
+    private final String configValue;
+
+    WaitBackend(String configValue) {
+        this.configValue = configValue;
+    }
+
+    /**
+     * Parses the {@code wait.backend} configuration value.
+     *
+     * @param value configuration value, e.g. "polling"
+     * @return matching backend
+     * @throws RuntimeException if the value is not a known backend
+     */
+    public static WaitBackend fromConfigValue(String value) {
+        for (WaitBackend backend : values()) {
+            if (backend.configValue.equalsIgnoreCase(value)) {
+                return backend;
+            }
+        }
+        throw new RuntimeException("Unknown wait backend '" + value + "', expected 'polling' or 'mutation-observer'");
+    }
+}
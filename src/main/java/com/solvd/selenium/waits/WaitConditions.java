@@ -0,0 +1,44 @@
+package com.solvd.selenium.waits;
+
+import java.util.List;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Factory of the {@link ExpectedCondition}s page objects wait on.
+ * Both backends return conditions usable with a regular WebDriverWait, so the
+ * backend can be switched from {@code config.properties} without touching page
+ * objects.
+ */
+public interface WaitConditions {
+
+    ExpectedCondition<WebElement> visibilityOf(WebElement element);
+
+    ExpectedCondition<List<WebElement>> visibilityOfAllElements(List<WebElement> elements);
+
+    ExpectedCondition<WebElement> elementToBeClickable(WebElement element);
+
+    ExpectedCondition<Boolean> textToBePresentInElement(WebElement element, String text);
+
+    /**
+     * Condition satisfied once {@code document.readyState} is "complete".
+     */
+    ExpectedCondition<Boolean> documentReady();
+
+    /**
+     * Creates the conditions for the backend selected by {@code wait.backend}.
+     */
+    static WaitConditions fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        switch (config.getWaitBackend()) {
+            case MUTATION_OBSERVER:
+                return new MutationObserverWaitConditions(new PollingWaitConditions(), config.getWaitEventSliceMillis());
+            case POLLING:
+            default:
+                return new PollingWaitConditions();
+        }
+    }
+}
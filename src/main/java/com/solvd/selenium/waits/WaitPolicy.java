@@ -0,0 +1,110 @@
+package com.solvd.selenium.waits;
+
+import java.time.Duration;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import com.solvd.selenium.config.ConfigManager;
+
+/**
+ * Single owner of every timeout a test can wait on.
+ * <ul>
+ * <li>The driver's implicit wait is always 0; {@code implicit.wait.seconds}
+ * instead bounds page-object element lookups made outside explicit waits.</li>
+ * <li>Explicit waits use {@code explicit.wait.seconds}, optionally overridden
+ * per page with {@code wait.page.<PageClass>.seconds}.</li>
+ * <li>Probes for optional elements use the short {@code wait.probe.seconds}
+ * budget.</li>
+ * </ul>
+ */
+public class WaitPolicy {
+
+    private static WaitPolicy instance;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+
+    // Private constructor for singleton pattern
+    private WaitPolicy() {
+    }
+
+    /**
+     * Get singleton instance of WaitPolicy
+     */
+    public static WaitPolicy getInstance() {
+        if (instance == null) {
+            synchronized (WaitPolicy.class) {
+                if (instance == null) {
+                    instance = new WaitPolicy();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Applies driver-level timeouts: no implicit wait, configured page load
+     * timeout.
+     *
+     * @param driver freshly started driver
+     */
+    public void applyTo(WebDriver driver) {
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().pageLoadTimeout(getPageLoadTimeout());
+    }
+
+    /**
+     * Explicit wait budget for a page, honouring per-page overrides.
+     *
+     * @param pageClass page object class
+     * @return timeout for waits made by that page
+     */
+    public Duration getExplicitTimeout(Class<?> pageClass) {
+        String pageKey = "wait.page." + pageClass.getSimpleName() + ".seconds";
+        if (config.hasProperty(pageKey)) {
+            return Duration.ofSeconds(config.getIntProperty(pageKey));
+        }
+        return Duration.ofSeconds(config.getExplicitWaitSeconds());
+    }
+
+    public Duration getProbeTimeout() {
+        return Duration.ofSeconds(config.getWaitProbeSeconds());
+    }
+
+    public Duration getElementLookupTimeout() {
+        return Duration.ofSeconds(config.getImplicitWaitSeconds());
+    }
+
+    public Duration getPageLoadTimeout() {
+        return Duration.ofSeconds(config.getPageLoadTimeoutSeconds());
+    }
+
+    /**
+     * Creates the default explicit wait for a page.
+     */
+    public PolicyWait newWait(WebDriver driver, Class<?> pageClass) {
+        return new PolicyWait(driver, getExplicitTimeout(pageClass));
+    }
+
+    /**
+     * Creates a wait with a caller-chosen budget.
+     */
+    public PolicyWait newWait(WebDriver driver, Duration budget) {
+        return new PolicyWait(driver, budget);
+    }
+
+    /**
+     * Creates a short wait for elements that may legitimately be absent.
+     */
+    public PolicyWait newProbeWait(WebDriver driver) {
+        return new PolicyWait(driver, getProbeTimeout());
+    }
+
+    /**
+     * Locator factory for {@code @FindBy} fields bound by the element lookup
+     * budget.
+     */
+    public ElementLocatorFactory newLocatorFactory(WebDriver driver) {
+        return new BudgetedElementLocatorFactory(driver, getElementLookupTimeout());
+    }
+}
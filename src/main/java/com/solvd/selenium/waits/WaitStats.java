@@ -0,0 +1,98 @@
+package com.solvd.selenium.waits;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread accounting of time spent in explicit waits.
+ * Waits that succeed and waits that run into their timeout are tracked
+ * separately, so a test's duration can be split into real work, useful waiting
+ * and time burnt on timeouts.
+ */
+public final class WaitStats {
+
+    private static final ThreadLocal<WaitStats> CURRENT = ThreadLocal.withInitial(WaitStats::new);
+
+    private int activeWaits;
+    private long startedAtNanos = System.nanoTime();
+    private int waitCount;
+    private long waitNanos;
+    private int timeoutCount;
+    private long timeoutNanos;
+
+    private WaitStats() {
+    }
+
+    /**
+     * Stats of the calling thread.
+     */
+    public static WaitStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts a fresh accounting period for the calling thread, e.g. per test.
+     */
+    public static void reset() {
+        CURRENT.set(new WaitStats());
+    }
+
+    /**
+     * True while the calling thread is inside an explicit wait. Element lookups
+     * made from within a wait must not wait on their own.
+     */
+    public boolean isInExplicitWait() {
+        return activeWaits > 0;
+    }
+
+    void enterWait() {
+        activeWaits++;
+    }
+
+    void exitWait(long elapsedNanos, boolean timedOut) {
+        activeWaits--;
+        // Nested waits are already covered by the outermost one
+        if (activeWaits > 0) {
+            return;
+        }
+        if (timedOut) {
+            timeoutCount++;
+            timeoutNanos += elapsedNanos;
+        } else {
+            waitCount++;
+            waitNanos += elapsedNanos;
+        }
+    }
+
+    public int getWaitCount() {
+        return waitCount;
+    }
+
+    public long getWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    public int getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getTimeoutMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    /**
+     * Time not spent in any explicit wait.
+     */
+    public long getWorkMillis() {
+        return Math.max(0, getElapsedMillis() - getWaitMillis() - getTimeoutMillis());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("total=%dms, work=%dms, waits=%d (%dms), timeouts=%d (%dms)",
+                getElapsedMillis(), getWorkMillis(), waitCount, getWaitMillis(), timeoutCount, getTimeoutMillis());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Client-side behaviour of the storefront fixture: cookie banner, product
+ * navigation, size selection, add to bag and the shopping bag page. Cart state
+ * lives on the fixture server, keyed by the fixture session cookie.
+ */
+(function () {
+    'use strict';
+
+    var CONSENT_COOKIE = 'OptanonAlertBoxClosed';
+
+    function post(url, body) {
+        return fetch(url, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(body || {})
+        }).then(function (response) {
+            return response.json();
+        });
+    }
+
+    function formatPrice(value) {
+        return '£' + value.toFixed(2);
+    }
+
+    function initCookieBanner() {
+        var banner = document.getElementById('onetrust-banner-sdk');
+        if (!banner || document.cookie.indexOf(CONSENT_COOKIE + '=') !== -1) {
+            return;
+        }
+        banner.hidden = false;
+        document.getElementById('onetrust-accept-btn-handler').addEventListener('click', function () {
+            document.cookie = CONSENT_COOKIE + '=' + new Date().toISOString() + '; path=/';
+            banner.hidden = true;
+        });
+    }
+
+    function initProductGrid() {
+        document.querySelectorAll('[data-product-url]').forEach(function (item) {
+            item.addEventListener('click', function () {
+                window.location.href = item.getAttribute('data-product-url');
+            });
+        });
+    }
+
+    function initProductPage() {
+        var productId = document.body.getAttribute('data-product-id');
+        if (!productId) {
+            return;
+        }
+        var selectedSize = null;
+        var stockStatus = document.querySelector("[data-testid='item-form-stock-status'] > p");
+
+        document.querySelectorAll("[data-testid='size-chips-button-group'] > button").forEach(function (button) {
+            button.addEventListener('click', function () {
+                if (button.classList.contains('unavailable')) {
+                    return;
+                }
+                selectedSize = button.getAttribute('data-size');
+                stockStatus.textContent = 'Checking stock...';
+                setTimeout(function () {
+                    stockStatus.textContent = 'In stock';
+                }, 150);
+            });
+        });
+
+        document.querySelector("[data-testid='item-form-addToBag-button']").addEventListener('click', function () {
+            if (!selectedSize) {
+                stockStatus.textContent = 'Please select a size';
+                return;
+            }
+            post('/api/bag/add', { productId: productId, size: selectedSize }).then(function () {
+                document.querySelector("[data-testid='header-mini-shopping-bag']").hidden = false;
+            });
+        });
+
+        document.querySelectorAll('[data-fixture-href]').forEach(function (link) {
+            link.addEventListener('click', function (event) {
+                event.preventDefault();
+                window.location.href = link.getAttribute('data-fixture-href');
+            });
+        });
+    }
+
+    function renderBag(bag) {
+        var items = document.getElementById('items');
+        var empty = document.querySelector('.bag-empty');
+        var total = document.getElementById('total');
+        items.innerHTML = '';
+
+        bag.items.forEach(function (item) {
+            var row = document.createElement('div');
+            row.setAttribute('data-item-id', item.itemId);
+            row.innerHTML =
+                '<span class="sbm-item-title"></span>' +
+                '<span class="sbm-item-price">' + formatPrice(item.price) + '</span>' +
+                '<div class="qty-plusminus-control">' +
+                '<button type="button" class="qty-minus">-</button>' +
+                '<input type="text" value="' + item.quantity + '" readonly>' +
+                '<button type="button" class="qty-plus">+</button>' +
+                '</div>' +
+                '<a href="#" class="sbm-DeleteButton">Delete</a>';
+            row.querySelector('.sbm-item-title').textContent = item.title + ' (Size ' + item.size + ')';
+            row.querySelector('.qty-plus').addEventListener('click', function () {
+                post('/api/bag/update', { itemId: item.itemId, quantity: item.quantity + 1 }).then(renderBag);
+            });
+            row.querySelector('.qty-minus').addEventListener('click', function () {
+                post('/api/bag/update', { itemId: item.itemId, quantity: item.quantity - 1 }).then(renderBag);
+            });
+            row.querySelector('.sbm-DeleteButton').addEventListener('click', function (event) {
+                event.preventDefault();
+                post('/api/bag/remove', { itemId: item.itemId }).then(renderBag);
+            });
+            items.appendChild(row);
+        });
+
+        total.textContent = formatPrice(bag.total);
+        empty.hidden = bag.items.length > 0;
+    }
+
+    function initShoppingBag() {
+        if (document.body.getAttribute('data-page') !== 'shoppingbag') {
+            return;
+        }
+        document.querySelector('.bag-empty > button').addEventListener('click', function () {
+            window.location.href = '/';
+        });
+        fetch('/api/bag').then(function (response) {
+            return response.json();
+        }).then(renderBag);
+    }
+
+    initCookieBanner();
+    initProductGrid();
+    initProductPage();
+    initShoppingBag();
+})();
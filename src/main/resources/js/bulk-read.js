@@ -0,0 +1,50 @@
+/*
+ * Bulk read of all nodes matched by a list locator, executed through
+ * executeScript.
+ *
+ * arguments[0] - { using, value } locator descriptor ('css selector', 'xpath'
+ *                or 'tag name')
+ * arguments[1] - attribute to read, or null to read the rendered text
+ *
+ * Returns { values, hidden }: one string per matched node in document order,
+ * and how many of the nodes are not visible. Hidden nodes read as an empty
+ * text, like WebElement.getText().
+ */
+var locator = arguments[0];
+var attribute = arguments[1];
+
+function locateAll() {
+    if (locator.using === 'xpath') {
+        var snapshot = document.evaluate(locator.value, document, null,
+            XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+        var nodes = [];
+        for (var i = 0; i < snapshot.snapshotLength; i++) {
+            nodes.push(snapshot.snapshotItem(i));
+        }
+        return nodes;
+    }
+    return Array.prototype.slice.call(document.querySelectorAll(locator.value));
+}
+
+function isVisible(el) {
+    var style = window.getComputedStyle(el);
+    if (style.visibility === 'hidden' || style.display === 'none' || style.opacity === '0') {
+        return false;
+    }
+    return el.getClientRects().length > 0;
+}
+
+var nodes = locateAll();
+var hidden = 0;
+var values = nodes.map(function (el) {
+    var visible = isVisible(el);
+    if (!visible) {
+        hidden++;
+    }
+    if (attribute !== null) {
+        var value = el.getAttribute(attribute);
+        return value === null ? '' : value;
+    }
+    return visible ? (el.innerText || '').trim() : '';
+});
+return { values: values, hidden: hidden };
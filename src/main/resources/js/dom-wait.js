@@ -0,0 +1,89 @@
+/*
+ * Event-driven DOM wait, executed through executeAsyncScript.
+ *
+ * arguments[0] - condition name: visible, clickable, text, ready
+ * arguments[1] - array of elements the condition applies to (may be empty)
+ * arguments[2] - expected text for the 'text' condition
+ * arguments[3] - longest time to wait in the browser, in milliseconds
+ * last         - WebDriver callback
+ *
+ * Resolves true as soon as the condition holds, or with the final check result
+ * when the slice expires. Re-checks are driven by DOM mutations, document
+ * lifecycle and CSS transition events, coalesced to one per animation frame.
+ */
+var condition = arguments[0];
+var elements = arguments[1] || [];
+var expectedText = arguments[2];
+var sliceMillis = arguments[3];
+var callback = arguments[arguments.length - 1];
+
+function isVisible(el) {
+    if (!el || !el.isConnected) {
+        return false;
+    }
+    var style = window.getComputedStyle(el);
+    if (style.visibility === 'hidden' || style.display === 'none' || style.opacity === '0') {
+        return false;
+    }
+    return el.getClientRects().length > 0;
+}
+
+function check() {
+    switch (condition) {
+        case 'visible':
+            return elements.every(isVisible);
+        case 'clickable':
+            return elements.every(function (el) {
+                return isVisible(el) && !el.disabled;
+            });
+        case 'text':
+            return elements.length > 0 && (elements[0].innerText || '').indexOf(expectedText) !== -1;
+        case 'ready':
+            return document.readyState === 'complete';
+        default:
+            throw new Error('Unknown wait condition: ' + condition);
+    }
+}
+
+if (check()) {
+    callback(true);
+} else {
+    var finished = false;
+    var framePending = false;
+    var events = ['readystatechange', 'load', 'transitionend', 'animationend'];
+
+    var finish = function (result) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        observer.disconnect();
+        clearTimeout(timer);
+        events.forEach(function (name) {
+            window.removeEventListener(name, schedule, true);
+        });
+        callback(result);
+    };
+
+    var schedule = function () {
+        if (finished || framePending) {
+            return;
+        }
+        framePending = true;
+        window.requestAnimationFrame(function () {
+            framePending = false;
+            if (!finished && check()) {
+                finish(true);
+            }
+        });
+    };
+
+    var observer = new MutationObserver(schedule);
+    observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+    events.forEach(function (name) {
+        window.addEventListener(name, schedule, true);
+    });
+    var timer = setTimeout(function () {
+        finish(check());
+    }, sliceMillis);
+}
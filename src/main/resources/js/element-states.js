@@ -0,0 +1,35 @@
+/*
+ * Batch element-state query, executed through executeScript.
+ *
+ * arguments[0] - array of { using, value } locator descriptors, where using is
+ *                'css selector', 'xpath' or 'tag name'
+ *
+ * Returns one { present, visible, text } entry per locator, in order, each
+ * describing the first matching element.
+ */
+var locators = arguments[0];
+
+function isVisible(el) {
+    var style = window.getComputedStyle(el);
+    if (style.visibility === 'hidden' || style.display === 'none' || style.opacity === '0') {
+        return false;
+    }
+    return el.getClientRects().length > 0;
+}
+
+function locate(locator) {
+    if (locator.using === 'xpath') {
+        return document.evaluate(locator.value, document, null,
+            XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+    }
+    return document.querySelector(locator.value);
+}
+
+return locators.map(function (locator) {
+    var el = locate(locator);
+    if (!el) {
+        return { present: false, visible: false, text: '' };
+    }
+    var visible = isVisible(el);
+    return { present: true, visible: visible, text: visible ? (el.innerText || '').trim() : '' };
+});
@@ -0,0 +1,47 @@
+/*
+ * Reads the links of the main category menu in one call, executed through
+ * executeScript.
+ *
+ * arguments[0] - { using, value } locator descriptor of the main menu items
+ *                ('css selector' or 'xpath')
+ *
+ * Returns { category: { linkTitle: absoluteHref } } for the titled links nested
+ * in each menu item, whether or not its submenu is open. The category name is
+ * the item's own text, without the text of its submenu. Menus that render
+ * their submenus outside the item yield empty maps.
+ */
+var locator = arguments[0];
+
+function locateAll() {
+    if (locator.using === 'xpath') {
+        var snapshot = document.evaluate(locator.value, document, null,
+            XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+        var nodes = [];
+        for (var i = 0; i < snapshot.snapshotLength; i++) {
+            nodes.push(snapshot.snapshotItem(i));
+        }
+        return nodes;
+    }
+    return Array.prototype.slice.call(document.querySelectorAll(locator.value));
+}
+
+function ownText(el) {
+    var text = '';
+    Array.prototype.forEach.call(el.childNodes, function (node) {
+        if (node.nodeType === Node.TEXT_NODE) {
+            text += node.textContent;
+        }
+    });
+    text = text.trim();
+    return text || (el.textContent || '').trim().split('\n')[0].trim();
+}
+
+var menu = {};
+locateAll().forEach(function (item) {
+    var links = {};
+    Array.prototype.forEach.call(item.querySelectorAll('a[title][href]'), function (link) {
+        links[link.getAttribute('title')] = link.href;
+    });
+    menu[ownText(item)] = links;
+});
+return menu;
@@ -0,0 +1,32 @@
+/*
+ * Reads the page's most recent resource timings in one call, executed through
+ * executeScript. Used for network entries where DevTools is not available.
+ *
+ * arguments[0] - maximum number of entries to return
+ *
+ * Returns { timeOrigin, entries } with timeOrigin in epoch milliseconds and
+ * one { url, type, startTime, duration, transferSize, status, protocol }
+ * object per navigation or resource, oldest first; times are relative to
+ * timeOrigin. Status is 0 where the browser does not expose it.
+ */
+var limit = arguments[0];
+
+var entries = performance.getEntriesByType('navigation')
+    .concat(performance.getEntriesByType('resource'))
+    .sort(function (a, b) { return a.startTime - b.startTime; })
+    .slice(-limit);
+
+return {
+    timeOrigin: performance.timeOrigin,
+    entries: entries.map(function (entry) {
+        return {
+            url: entry.name,
+            type: entry.initiatorType || entry.entryType,
+            startTime: entry.startTime,
+            duration: entry.duration,
+            transferSize: typeof entry.transferSize === 'number' ? entry.transferSize : -1,
+            status: entry.responseStatus || 0,
+            protocol: entry.nextHopProtocol || ''
+        };
+    })
+};
@@ -1,6 +1,5 @@
 package com.solvd.selenium;
 
-import com.solvd.selenium.pages.HomePage;
 import com.solvd.selenium.pages.CategoryPage;
 import com.solvd.selenium.pages.ProductPage;
 import com.solvd.selenium.pages.ShoppingBagPage;
@@ -26,11 +25,8 @@ public class AddToBagTest extends BaseTest {
             @Optional("All Dresses") String subCategory) {
         logger.info("Starting add to bag test");
 
-        navigateToHomePage();
-        HomePage homePage = new HomePage(getDriver());
-
-        // Hover over Women category
-        CategoryPage categoryPage = homePage.hoverOverMainCategoryAndClick(category, subCategory);
+        // Open the category page directly, the menu itself is covered by NavigationMenuTest
+        CategoryPage categoryPage = navigateToCategory(category, subCategory);
         Assert.assertNotNull(categoryPage, "Category page should not be null");
 
         ProductPage productPage = categoryPage.clickFirstProduct();
@@ -1,20 +1,48 @@
 package com.solvd.selenium;
 
+import com.solvd.selenium.artifacts.DirectoryRotation;
+import com.solvd.selenium.artifacts.FailureCapture;
+import com.solvd.selenium.artifacts.ScreenshotWriter;
 import com.solvd.selenium.config.ConfigManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.solvd.selenium.driver.BrowserProfile;
+import com.solvd.selenium.driver.BrowserProfileMetrics;
+import com.solvd.selenium.driver.DriverBinaryResolver;
+import com.solvd.selenium.driver.DriverFactory;
+import com.solvd.selenium.driver.DriverKey;
+import com.solvd.selenium.driver.DriverPool;
+import com.solvd.selenium.fixture.FixtureServer;
+import com.solvd.selenium.jfr.DriverLifecycleEvent;
+import com.solvd.selenium.jfr.SuiteRecording;
+import com.solvd.selenium.listeners.CircuitBreaker;
+import com.solvd.selenium.navigation.CategoryUrlResolver;
+import com.solvd.selenium.network.BlockedTrafficStats;
+import com.solvd.selenium.network.NetworkMode;
+import com.solvd.selenium.network.RecordReplayProxy;
+import com.solvd.selenium.network.ResourceBlocker;
+import com.solvd.selenium.pages.CategoryPage;
+import com.solvd.selenium.pages.HomePage;
+import com.solvd.selenium.pages.ProductPage;
+import com.solvd.selenium.pages.ShoppingBagPage;
+import com.solvd.selenium.session.CartFixture;
+import com.solvd.selenium.session.ConsentBootstrap;
+import com.solvd.selenium.timing.CommandCounter;
+import com.solvd.selenium.timing.CommandTrace;
+import com.solvd.selenium.timing.StepTimer;
+import com.solvd.selenium.timing.StepTimings;
+import com.solvd.selenium.waits.WaitStats;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Optional;
@@ -22,25 +50,43 @@ import org.testng.annotations.Parameters;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class BaseTest {
 
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
+    protected static final String WAIT_STATS_ATTRIBUTE = "waitStats";
+    protected static final String BLOCKED_TRAFFIC_ATTRIBUTE = "blockedTraffic";
+
+    private static final Duration SCREENSHOT_FLUSH_TIMEOUT = Duration.ofSeconds(60);
+
     protected final ConfigManager config = ConfigManager.getInstance();
 
-    private ThreadLocal<WebDriver> driver = new ThreadLocal<>();
-    private String browserName;
-    private boolean useRemoteDriver = false;
+    private final DriverFactory driverFactory = new DriverFactory();
+    private final ResourceBlocker resourceBlocker = ResourceBlocker.getInstance();
+
+    // Before/after methods and the test itself run on the same thread, so one context per thread is one per invocation
+    private final ThreadLocal<InvocationContext> invocation = new ThreadLocal<>();
 
     protected WebDriver getDriver() {
-        return driver.get();
+        InvocationContext context = invocation.get();
+        return context != null ? context.getDriver() : null;
+    }
+
+    /**
+     * State of the test method running on the calling thread.
+     */
+    protected InvocationContext getInvocation() {
+        return invocation.get();
     }
 
     @BeforeSuite
@@ -48,7 +94,13 @@ public class BaseTest {
         String screenshotDir = config.getScreenshotDirectory();
         File directory = new File(screenshotDir);
 
-        if (directory.exists()) {
+        if (config.isScreenshotBackgroundCleanupEnabled()) {
+            try {
+                DirectoryRotation.rotate(directory.toPath(), config.getScreenshotRetainedRuns());
+            } catch (IOException e) {
+                logger.error("Failed to rotate screenshots directory: {}", e.getMessage(), e);
+            }
+        } else if (directory.exists()) {
             try {
                 FileUtils.cleanDirectory(directory);
                 logger.info("Cleaned screenshots directory: {}", screenshotDir);
@@ -59,164 +111,278 @@ public class BaseTest {
             directory.mkdirs();
             logger.info("Created screenshots directory: {}", screenshotDir);
         }
+        ScreenshotWriter.getInstance().resetIndex();
     }
 
-    @BeforeMethod
-    @Parameters({ "browser", "remote" })
-    public void setUp(@Optional String browser, @Optional String remote) {
-        // Use TestNG parameters if provided, otherwise configuration is required
-        if (browser == null && !config.hasProperty("default.browser")) {
-            throw new RuntimeException(
-                    "Browser must be specified either as TestNG parameter or 'default.browser' in config");
+    @BeforeSuite
+    public void rotateFailureBundles() {
+        if (!config.isFailureBundleEnabled()) {
+            return;
         }
-        if (remote == null && !config.hasProperty("remote.execution.enabled")) {
-            throw new RuntimeException(
-                    "Remote execution must be specified either as TestNG parameter or 'remote.execution.enabled' in config");
+        try {
+            DirectoryRotation.rotate(Paths.get(config.getFailureBundleDirectory()), config.getScreenshotRetainedRuns());
+        } catch (IOException e) {
+            logger.error("Failed to rotate failure bundle directory: {}", e.getMessage(), e);
         }
+    }
 
-        String browserParam = browser != null ? browser : config.getDefaultBrowser();
-        String remoteParam = remote != null ? remote : String.valueOf(config.isRemoteExecutionEnabled());
+    @BeforeSuite
+    public void startFlightRecording() {
+        SuiteRecording.getInstance().start();
+    }
 
-        logger.info("Setting up WebDriver - Browser: {}, Remote: {}", browserParam, remoteParam);
+    @BeforeSuite
+    public void startFixtureServer() {
+        if (!config.isFixtureServerEnabled()) {
+            return;
+        }
+        FixtureServer fixtureServer = FixtureServer.getInstance();
+        fixtureServer.start(config.getFixtureServerPort());
+        if (!fixtureServer.getBaseUrl().equals(config.getBaseUrl())) {
+            logger.warn("Fixture server is running at {} but base.url is {}, tests will not use it",
+                    fixtureServer.getBaseUrl(), config.getBaseUrl());
+        }
+    }
 
-        this.browserName = browserParam.toLowerCase();
-        this.useRemoteDriver = Boolean.parseBoolean(remoteParam);
+    @BeforeSuite
+    @Parameters({ "browser", "remote", "browserProfile" })
+    public void warmUpDriverPool(ITestContext context, @Optional String browser, @Optional String remote,
+            @Optional String browserProfile) {
+        if (!config.isDriverPoolEnabled()) {
+            logger.info("WebDriver session pool disabled - a new browser will be started for every test");
+            return;
+        }
 
-        if (useRemoteDriver) {
-            setupRemoteDriver(browserParam);
-        } else {
-            setupLocalDriver(browserParam);
+        DriverPool pool = DriverPool.getInstance();
+        int threadCount = context.getSuite().getXmlSuite().getThreadCount();
+        if (pool.getMaxSessions() < threadCount) {
+            logger.warn("driver.pool.max.sessions ({}) is lower than suite thread-count ({}), tests will queue for sessions",
+                    pool.getMaxSessions(), threadCount);
         }
 
-        // Common settings using configuration
-        Duration implicitWait = Duration.ofSeconds(config.getImplicitWaitSeconds());
-        Duration pageLoadTimeout = Duration.ofSeconds(config.getPageLoadTimeoutSeconds());
+        DriverKey key = pool.getFactory().keyFor(resolveBrowser(browser), resolveRemote(remote),
+                resolveProfile(browserProfile));
+        pool.prewarm(key, Math.min(config.getDriverPoolPrewarmSize(), threadCount));
+    }
 
-        getDriver().manage().timeouts().implicitlyWait(implicitWait);
-        getDriver().manage().timeouts().pageLoadTimeout(pageLoadTimeout);
-        getDriver().manage().window().maximize();
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        if (config.isDriverPoolEnabled()) {
+            DriverPool.getInstance().closeIdleSessions();
+        }
+        DriverBinaryResolver.getInstance().getResolutions()
+                .forEach(resolution -> logger.info("Driver binary resolution - {}", resolution));
+    }
 
-        logger.info("WebDriver setup completed - Mode: {}, Implicit Wait: {}s, Page Load Timeout: {}s",
-                useRemoteDriver ? "Remote" : "Local", implicitWait.getSeconds(), pageLoadTimeout.getSeconds());
+    @AfterSuite(alwaysRun = true)
+    public void reportBrowserProfiles() {
+        BrowserProfileMetrics.getInstance().getStats()
+                .forEach((profile, stats) -> logger.info("Browser profile {} - {}", profile.getConfigValue(), stats));
     }
 
-    /**
-     * Setup local WebDriver
-     */
-    private void setupLocalDriver(String browser) {
-        switch (browser.toLowerCase()) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = getChromeOptions();
-                driver.set(new ChromeDriver(chromeOptions));
-                break;
-
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = getFirefoxOptions();
-                driver.set(new FirefoxDriver(firefoxOptions));
-                break;
-
-            default:
-                throw new IllegalArgumentException("Unsupported browser: " + browser);
+    @AfterSuite(alwaysRun = true)
+    public void flushScreenshots() {
+        ScreenshotWriter screenshotWriter = ScreenshotWriter.getInstance();
+        if (!screenshotWriter.awaitPending(SCREENSHOT_FLUSH_TIMEOUT)) {
+            logger.error("Not all screenshots were written within {}s", SCREENSHOT_FLUSH_TIMEOUT.getSeconds());
         }
+        logger.info("Screenshots written: {} ({} KB), deduplicated: {}, failed: {}", screenshotWriter.getWrittenCount(),
+                screenshotWriter.getBytesWritten() / 1024, screenshotWriter.getDeduplicatedCount(),
+                screenshotWriter.getFailedCount());
     }
 
-    /**
-     * Setup remote WebDriver
-     */
-    private void setupRemoteDriver(String browser) {
+    @AfterSuite(alwaysRun = true)
+    public void flushFailureBundles() {
+        if (!FailureCapture.getInstance().awaitPending(SCREENSHOT_FLUSH_TIMEOUT)) {
+            logger.error("Not all failure bundles were written within {}s", SCREENSHOT_FLUSH_TIMEOUT.getSeconds());
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void stopFlightRecording() {
+        SuiteRecording.getInstance().stop();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void stopRecordReplayProxy() {
+        if (config.getNetworkMode() == NetworkMode.OFF) {
+            return;
+        }
+        RecordReplayProxy proxy = RecordReplayProxy.getInstance();
+        if (!proxy.isRunning()) {
+            return;
+        }
+        proxy.stop();
+
+        List<String> unrecorded = proxy.getUnrecordedRequests();
+        if (proxy.getMode() == NetworkMode.STRICT_REPLAY && !unrecorded.isEmpty()) {
+            unrecorded.forEach(request -> logger.error("Unrecorded request: {}", request));
+            throw new RuntimeException(unrecorded.size()
+                    + " request(s) missing from the network archive in strict-replay mode, re-record with network.mode=replay");
+        }
+    }
+
+    @BeforeMethod
+    @Parameters({ "browser", "remote", "browserProfile" })
+    public void setUp(Method testMethod, @Optional String browser, @Optional String remote,
+            @Optional String browserProfile) {
+        if (CircuitBreaker.getInstance().isOpenFor(getClass(), testMethod.getName())) {
+            // CircuitBreakerListener short-circuits the test itself; a skipped set-up would skip the whole class
+            logger.info("Circuit breaker open for {}, not starting a browser", testMethod.getName());
+            return;
+        }
+        String browserParam = resolveBrowser(browser);
+        boolean remoteParam = resolveRemote(remote);
+        BrowserProfile profileParam = resolveProfile(browserProfile);
+
+        logger.info("Setting up WebDriver - Browser: {}, Remote: {}, Profile: {}", browserParam, remoteParam,
+                profileParam.getConfigValue());
+
+        InvocationContext context = new InvocationContext(
+                testMethod.getDeclaringClass().getSimpleName() + "." + testMethod.getName(),
+                browserParam.toLowerCase(), remoteParam, profileParam);
+        invocation.set(context);
+
+        DriverKey key = driverFactory.keyFor(context.getBrowserName(), context.isRemote(), context.getProfile());
+        DriverLifecycleEvent startEvent = beginDriverEvent(context,
+                config.isDriverPoolEnabled() ? DriverLifecycleEvent.LEASE : DriverLifecycleEvent.START);
         try {
-            String hubUrl = config.getSeleniumHubUrl();
-            URL seleniumHubUrl = new URL(hubUrl);
-
-            switch (browser.toLowerCase()) {
-                case "chrome":
-                    ChromeOptions chromeOptions = getChromeOptions();
-                    driver.set(new RemoteWebDriver(seleniumHubUrl, chromeOptions));
-                    break;
-
-                case "firefox":
-                    FirefoxOptions firefoxOptions = getFirefoxOptions();
-                    driver.set(new RemoteWebDriver(seleniumHubUrl, firefoxOptions));
-                    break;
-
-                default:
-                    throw new IllegalArgumentException("Unsupported browser for remote execution: " + browser);
+            if (config.isDriverPoolEnabled()) {
+                context.setSession(DriverPool.getInstance().lease(key));
+            } else {
+                context.setSession(driverFactory.create(key));
             }
+        } catch (RuntimeException e) {
+            startEvent.outcome = e.getClass().getSimpleName();
+            invocation.remove();
+            throw e;
+        } finally {
+            startEvent.commit();
+        }
+        WebDriver session = context.getSession();
+        // Tests and pages get a driver that counts and traces commands; the pool keeps the plain session
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (StepTimer.isEnabled()) {
+            listeners.add(new CommandCounter());
+        }
+        if (config.isCommandTracingEnabled()) {
+            context.setCommandTrace(new CommandTrace(context.getTestName()));
+            listeners.add(context.getCommandTrace());
+        }
+        context.setDriver(listeners.isEmpty()
+                ? session
+                : new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(session));
+
+        boolean consentRetained = config.isDriverPoolEnabled() && DriverPool.getInstance().hasRetainedCookies(session);
+        boolean consentSeeded = ConsentBootstrap.getInstance().seed(session, context.getBrowserName(),
+                consentRetained);
+
+        logger.info("WebDriver setup completed - Mode: {}, Pooled: {}, Consent seeded: {}",
+                context.isRemote() ? "Remote" : "Local", config.isDriverPoolEnabled(), consentSeeded);
+        WaitStats.reset();
+        StepTimer.reset(StepTimer.isEnabled());
+        FailureCapture.getInstance().markTestStart(session);
+        if (resourceBlocker.isEnabled()) {
+            context.setBlockedTrafficAtStart(resourceBlocker.getStats(session).snapshot());
+        }
+    }
 
-            logger.info("Connected to Selenium Hub at: {}", hubUrl);
-
-        } catch (MalformedURLException e) {
-            String hubUrl = config.getSeleniumHubUrl();
-            logger.error("Invalid Selenium Hub URL: {}", hubUrl, e);
-            throw new RuntimeException("Failed to setup remote driver due to invalid Hub URL", e);
+    /**
+     * Use TestNG parameter if provided, otherwise 'default.browser' from config is required
+     */
+    private String resolveBrowser(String browser) {
+        if (browser == null && !config.hasProperty("default.browser")) {
+            throw new RuntimeException(
+                    "Browser must be specified either as TestNG parameter or 'default.browser' in config");
         }
+        return browser != null ? browser : config.getDefaultBrowser();
     }
 
     /**
-     * Chrome-specific options
+     * Use TestNG parameter if provided, otherwise 'remote.execution.enabled' from config is required
      */
-    private ChromeOptions getChromeOptions() {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--remote-allow-origins=*");
-
-        if (useRemoteDriver) {
-            options.addArguments("--disable-gpu");
-            int width = config.getWindowWidth();
-            int height = config.getWindowHeight();
-            options.addArguments(String.format("--window-size=%d,%d", width, height));
-        }
-
-        return options;
+    private boolean resolveRemote(String remote) {
+        if (remote == null && !config.hasProperty("remote.execution.enabled")) {
+            throw new RuntimeException(
+                    "Remote execution must be specified either as TestNG parameter or 'remote.execution.enabled' in config");
+        }
+        return remote != null ? Boolean.parseBoolean(remote) : config.isRemoteExecutionEnabled();
     }
 
     /**
-     * Firefox-specific options
+     * Use the suite's 'browserProfile' parameter if provided, otherwise 'browser.profile' from config
      */
-    private FirefoxOptions getFirefoxOptions() {
-        FirefoxOptions options = new FirefoxOptions();
-        options.addPreference("dom.webdriver.enabled", false);
-        options.addPreference("useAutomationExtension", false);
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-
-        if (useRemoteDriver) {
-            int width = config.getWindowWidth();
-            int height = config.getWindowHeight();
-            options.addArguments(String.format("--width=%d", width));
-            options.addArguments(String.format("--height=%d", height));
-        }
-
-        logger.debug("Firefox options configured");
-        return options;
+    private BrowserProfile resolveProfile(String browserProfile) {
+        return browserProfile != null ? BrowserProfile.fromConfigValue(browserProfile) : config.getBrowserProfile();
     }
 
     @AfterMethod
     public void tearDown(ITestResult result) {
+        InvocationContext context = invocation.get();
+        invocation.remove();
+        if (context == null) {
+            // Short-circuited or failed set-up: the thread's stats still belong to its previous test
+            WaitStats.reset();
+            if (StepTimer.isEnabled()) {
+                StepTimer.finish();
+            }
+            return;
+        }
+
+        WaitStats waitStats = WaitStats.current();
+        result.setAttribute(WAIT_STATS_ATTRIBUTE, waitStats);
+        logger.info("Wait time for {}: {}", result.getName(), waitStats);
+
+        StepTimings stepTimings = null;
+        if (StepTimer.isEnabled()) {
+            stepTimings = StepTimer.finish();
+            result.setAttribute(StepTimings.RESULT_ATTRIBUTE, stepTimings);
+            logger.info("Step timing for {}: {}", result.getName(), stepTimings);
+        }
+
+        CommandTrace trace = context.getCommandTrace();
+        if (trace != null) {
+            saveCommandTrace(result, context);
+        }
+
+        WebDriver currentSession = context.getSession();
+        if (context.getBlockedTrafficAtStart() != null) {
+            BlockedTrafficStats blockedTraffic = resourceBlocker.getStats(currentSession)
+                    .since(context.getBlockedTrafficAtStart());
+            result.setAttribute(BLOCKED_TRAFFIC_ATTRIBUTE, blockedTraffic);
+            logger.info("Resource blocking for {}: {}", result.getName(), blockedTraffic);
+        }
+
+        BrowserProfileMetrics.getInstance().sampleMemory(currentSession);
+
         boolean screenshotOnFailure = config.isScreenshotOnFailureEnabled();
 
-        if (result.getStatus() == ITestResult.FAILURE && screenshotOnFailure) {
-            captureScreenshot(result.getName());
+        if (result.getStatus() == ITestResult.FAILURE) {
+            CompletableFuture<Path> screenshot = screenshotOnFailure ? captureScreenshot(context) : null;
+            if (config.isFailureBundleEnabled()) {
+                captureFailureBundle(result, context, stepTimings, screenshot);
+            }
         }
 
-        if (getDriver() != null) {
-            try {
-                if (getDriver() instanceof RemoteWebDriver) {
-                    logger.info("Closing WebDriver - Session ID: {}", ((RemoteWebDriver) getDriver()).getSessionId());
-                } else {
-                    logger.info("Closing WebDriver (Local) - Browser: {}", browserName);
-                }
-                getDriver().quit();
-            } catch (Exception e) {
-                logger.error("Error while closing WebDriver for browser {}: {}", browserName, e.getMessage(), e);
-            } finally {
-                driver.remove();
+        DriverLifecycleEvent endEvent = beginDriverEvent(context,
+                config.isDriverPoolEnabled() ? DriverLifecycleEvent.RELEASE : DriverLifecycleEvent.QUIT);
+        try {
+            if (config.isDriverPoolEnabled()) {
+                logger.info("Returning WebDriver to pool - Browser: {}", context.getBrowserName());
+                DriverPool.getInstance().release(currentSession);
+            } else if (currentSession instanceof RemoteWebDriver) {
+                logger.info("Closing WebDriver - Session ID: {}", ((RemoteWebDriver) currentSession).getSessionId());
+                currentSession.quit();
+            } else {
+                logger.info("Closing WebDriver (Local) - Browser: {}", context.getBrowserName());
+                currentSession.quit();
             }
+        } catch (Exception e) {
+            endEvent.outcome = e.getClass().getSimpleName();
+            logger.error("Error while closing WebDriver for browser {}: {}", context.getBrowserName(), e.getMessage(),
+                    e);
+        } finally {
+            endEvent.commit();
         }
     }
 
@@ -226,29 +392,114 @@ public class BaseTest {
         getDriver().get(baseUrl);
     }
 
-    private void captureScreenshot(String testName) {
+    private CompletableFuture<Path> captureScreenshot(InvocationContext context) {
+        DriverLifecycleEvent screenshotEvent = beginDriverEvent(context, DriverLifecycleEvent.SCREENSHOT);
         try {
-            String screenshotDir = config.getScreenshotDirectory();
+            // Only the capture happens here; encoding and disk I/O run on the writer pool
+            byte[] screenshot = ((TakesScreenshot) context.getSession()).getScreenshotAs(OutputType.BYTES);
+            return ScreenshotWriter.getInstance().submit(screenshot, context.getTestName(), context.getBrowserName());
+        } catch (RuntimeException e) {
+            screenshotEvent.outcome = e.getClass().getSimpleName();
+            logger.error("Failed to capture screenshot: {}", e.getMessage(), e);
+            return null;
+        } finally {
+            screenshotEvent.commit();
+        }
+    }
 
-            // Create screenshots directory if it doesn't exist
-            File directory = new File(screenshotDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
+    private void captureFailureBundle(ITestResult result, InvocationContext context, StepTimings stepTimings,
+            CompletableFuture<Path> screenshot) {
+        try {
+            // Reads the browser before the session is released; zipping runs in the background
+            FailureCapture.getInstance().capture(context.getSession(), context.getArtifactName(),
+                    context.getBrowserName(), result.getThrowable(), stepTimings, context.getCommandTrace(), screenshot);
+        } catch (RuntimeException e) {
+            logger.error("Failed to capture failure bundle: {}", e.getMessage(), e);
+        }
+    }
 
-            // Generate timestamp for filename
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String fileName = String.format("%s_%s_%s.png", testName, browserName, timestamp);
+    /**
+     * Starts a flight recorder event for a driver operation; the caller sets a
+     * failure outcome and commits it.
+     */
+    private DriverLifecycleEvent beginDriverEvent(InvocationContext context, String operation) {
+        DriverLifecycleEvent event = new DriverLifecycleEvent();
+        event.operation = operation;
+        event.browser = context.getBrowserName();
+        event.test = context.getTestName();
+        event.outcome = "ok";
+        event.begin();
+        return event;
+    }
 
-            // Take screenshot
-            File screenshot = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.FILE);
-            File destFile = new File(Paths.get(screenshotDir, fileName).toString());
-            FileUtils.copyFile(screenshot, destFile);
+    private void saveCommandTrace(ITestResult result, InvocationContext context) {
+        CommandTrace trace = context.getCommandTrace();
+        result.setAttribute(CommandTrace.RESULT_ATTRIBUTE, trace);
+        logger.info("WebDriver commands for {}: {}", result.getName(), trace);
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        String fileName = String.format("%s_%s_%s.json", context.getArtifactName(), context.getBrowserName(),
+                timestamp);
+        try {
+            trace.writeTo(Paths.get(config.getCommandTraceDirectory(), fileName));
+        } catch (RuntimeException e) {
+            logger.error("Failed to save command trace: {}", e.getMessage(), e);
+        }
+    }
 
-            logger.info("Screenshot saved to: {}", destFile.getAbsolutePath());
-        } catch (IOException e) {
-            logger.error("Failed to capture screenshot: {}", e.getMessage(), e);
+    /**
+     * Opens a category page. Known categories are opened directly by their
+     * learned URL; otherwise the menu links are read once per suite and, as a
+     * last resort, the menu is hovered. Tests that verify the menu itself should
+     * call {@link HomePage#hoverOverMainCategoryAndClick} instead.
+     * <p>
+     * Deep links skip the home page, so the cookie banner is accepted on the
+     * category page unless consent was seeded into the session.
+     *
+     * @return the category page, or null if the menu has no such entry
+     */
+    protected CategoryPage navigateToCategory(String category, String subCategory) {
+        CategoryUrlResolver resolver = CategoryUrlResolver.getInstance();
+        java.util.Optional<String> path = resolver.resolve(category, subCategory);
+        if (path.isPresent()) {
+            navigateToPage(path.get());
+            CategoryPage categoryPage = new CategoryPage(getDriver());
+            categoryPage.acceptCookiesUnlessSeeded();
+            return categoryPage;
+        }
+
+        navigateToHomePage();
+        HomePage homePage = new HomePage(getDriver());
+        if (resolver.claimMenuScan()) {
+            resolver.learnFromMenu(homePage.readMenuLinks());
+            path = resolver.resolve(category, subCategory);
+        }
+        if (path.isPresent()) {
+            navigateToPage(path.get());
+            return new CategoryPage(getDriver());
+        }
+        return homePage.hoverOverMainCategoryAndClick(category, subCategory);
+    }
+
+    /**
+     * Opens the shopping bag with the first product of a category in it.
+     * Against the fixture server the bag is filled directly; otherwise the
+     * product is added through the UI (AddToBagTest covers that path itself).
+     */
+    protected ShoppingBagPage openBagWithFirstProduct(String category, String subCategory) {
+        CartFixture cartFixture = CartFixture.getInstance();
+        if (cartFixture.isAvailable()) {
+            return cartFixture.openBagWithFirstProduct(getDriver(), category, subCategory);
+        }
+
+        logger.info("Cart fixture unavailable against {}, adding product through the UI", getBaseUrl());
+        CategoryPage categoryPage = navigateToCategory(category, subCategory);
+        ProductPage productPage = categoryPage.clickFirstProduct();
+        productPage.selectFirstAvailableSize();
+        productPage.clickAddToBag();
+        if (!productPage.isAddToBagConfirmationVisible()) {
+            throw new IllegalStateException("Add to bag confirmation did not appear while preparing the bag");
         }
+        return productPage.clickViewBagButton();
     }
 
     /**
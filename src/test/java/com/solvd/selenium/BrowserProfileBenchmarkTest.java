@@ -0,0 +1,106 @@
+package com.solvd.selenium;
+
+import com.solvd.selenium.config.ConfigManager;
+import com.solvd.selenium.driver.BrowserProfile;
+import com.solvd.selenium.driver.BrowserProfileMetrics;
+import com.solvd.selenium.driver.DriverFactory;
+import com.solvd.selenium.pages.SearchResultsPage;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class BrowserProfileBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfileBenchmarkTest.class);
+
+    private static final String FIXTURE = "fixtures/search-results.html";
+    private static final int FIXTURE_PRODUCT_COUNT = 60;
+    private static final int ROUNDS = 3;
+
+    private final DriverFactory driverFactory = new DriverFactory();
+
+    /**
+     * Starts local browsers with every profile, loads the search results
+     * fixture and reads it through its page object, so a profile is only
+     * reported as cheaper if the page still works in it. Startup time covers
+     * launching the browser up to the first command; peak memory is that of
+     * the browser's processes after the page was read.
+     */
+    @Test(description = "Benchmark startup time and peak memory of the browser profiles")
+    @Parameters({ "browser" })
+    public void benchmarkBrowserProfiles(@Optional String browser) {
+        String browserName = browser != null ? browser : ConfigManager.getInstance().getDefaultBrowser();
+        String fixtureUrl = getClass().getClassLoader().getResource(FIXTURE).toString();
+        BrowserProfileMetrics metrics = BrowserProfileMetrics.getInstance();
+
+        Map<BrowserProfile, ProfileRuns> results = new EnumMap<>(BrowserProfile.class);
+        for (int round = 0; round < ROUNDS; round++) {
+            for (BrowserProfile profile : BrowserProfile.values()) {
+                ProfileRuns runs = results.computeIfAbsent(profile, ProfileRuns::new);
+                long start = System.nanoTime();
+                WebDriver driver = driverFactory.create(driverFactory.keyFor(browserName, false, profile));
+                try {
+                    runs.addStartup(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+                    driver.get(fixtureUrl);
+                    int productCount = new SearchResultsPage(driver).getProductCount();
+                    Assert.assertEquals(productCount, FIXTURE_PRODUCT_COUNT,
+                            "Fixture does not work with profile " + profile.getConfigValue());
+                    runs.addMemory(metrics.sampleMemory(driver));
+                } finally {
+                    driver.quit();
+                }
+            }
+        }
+
+        logger.info("=== BROWSER PROFILE BENCHMARK ({}, {} rounds) ===", browserName, ROUNDS);
+        results.values().forEach(runs -> logger.info("{}", runs));
+        logger.info("=================================================");
+
+        for (ProfileRuns runs : results.values()) {
+            String profile = runs.profile.getConfigValue();
+            Assert.assertEquals(runs.count, ROUNDS, "Missing startup times for profile " + profile);
+            Assert.assertTrue(runs.totalStartupMillis > 0, "No startup time measured for profile " + profile);
+            if (metrics.isMemoryMeasurable()) {
+                Assert.assertTrue(runs.peakRssKb > 0, "No memory measured for profile " + profile);
+            }
+        }
+    }
+
+    private static class ProfileRuns {
+        private final BrowserProfile profile;
+        private int count;
+        private long totalStartupMillis;
+        private long maxStartupMillis;
+        private long peakRssKb = -1;
+
+        ProfileRuns(BrowserProfile profile) {
+            this.profile = profile;
+        }
+
+        void addStartup(long startupMillis) {
+            count++;
+            totalStartupMillis += startupMillis;
+            maxStartupMillis = Math.max(maxStartupMillis, startupMillis);
+        }
+
+        void addMemory(long rssKb) {
+            peakRssKb = Math.max(peakRssKb, rssKb);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-18s startup avg %5dms, max %5dms, peak memory %s",
+                    profile.getConfigValue() + ":", count == 0 ? 0 : totalStartupMillis / count, maxStartupMillis,
+                    peakRssKb < 0 ? "n/a" : (peakRssKb / 1024) + "MB");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.solvd.selenium;
+
+import com.solvd.selenium.pages.SearchResultsPage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class BulkReadBenchmarkTest extends BaseTest {
+
+    private static final String FIXTURE = "fixtures/search-results.html";
+    private static final int FIXTURE_PRODUCT_COUNT = 60;
+
+    /**
+     * Compares WebDriver round trips needed to read all product titles from a
+     * local search results fixture: per-element getText() versus the bulk read
+     * used by SearchResultsPage, and a repeated read served from cache.
+     */
+    @Test(description = "Benchmark per-element versus bulk product title reads")
+    public void benchmarkProductTitleReads() {
+        getDriver().get(getClass().getClassLoader().getResource(FIXTURE).toString());
+
+        RoundTripCounter counter = new RoundTripCounter();
+        WebDriver countedDriver = new EventFiringDecorator<>(counter).decorate(getDriver());
+
+        counter.reset();
+        long start = System.nanoTime();
+        List<String> perElementTitles = countedDriver
+                .findElements(By.cssSelector("p[data-testid='product_summary_title']")).stream()
+                .map(WebElement::getText)
+                .collect(Collectors.toList());
+        long perElementMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int perElementTrips = counter.getCount();
+
+        SearchResultsPage searchResultsPage = new SearchResultsPage(countedDriver);
+
+        counter.reset();
+        start = System.nanoTime();
+        List<String> bulkTitles = searchResultsPage.getProductTitles();
+        long bulkMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int bulkTrips = counter.getCount();
+
+        counter.reset();
+        int productCount = searchResultsPage.getProductCount();
+        int cachedTrips = counter.getCount();
+
+        logger.info("=== BULK READ BENCHMARK ({} products) ===", FIXTURE_PRODUCT_COUNT);
+        logger.info("Per-element getText: {} round trips, {}ms", perElementTrips, perElementMillis);
+        logger.info("Bulk read:           {} round trips, {}ms", bulkTrips, bulkMillis);
+        logger.info("Cached re-read:      {} round trips", cachedTrips);
+        logger.info("==========================================");
+
+        Assert.assertEquals(perElementTitles.size(), FIXTURE_PRODUCT_COUNT, "Fixture product count is incorrect");
+        Assert.assertEquals(bulkTitles, perElementTitles, "Bulk read should return the same titles");
+        Assert.assertEquals(productCount, FIXTURE_PRODUCT_COUNT, "Product count is incorrect");
+        Assert.assertEquals(bulkTrips, 1, "Bulk read should take a single round trip");
+        Assert.assertEquals(cachedTrips, 0, "Repeated read should be served from cache");
+    }
+
+    /**
+     * Counts every call made through the decorated driver and its elements;
+     * each one is a WebDriver round trip.
+     */
+    private static class RoundTripCounter implements WebDriverListener {
+        private int count;
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            count++;
+        }
+
+        void reset() {
+            count = 0;
+        }
+
+        int getCount() {
+            return count;
+        }
+    }
+}
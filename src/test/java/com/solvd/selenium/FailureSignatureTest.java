@@ -0,0 +1,70 @@
+package com.solvd.selenium;
+
+import com.solvd.selenium.listeners.FailureSignature;
+import com.solvd.selenium.pages.ProductPage;
+import com.solvd.selenium.timing.StepSample;
+import com.solvd.selenium.timing.StepTimer;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+public class FailureSignatureTest {
+
+    /**
+     * Fails a click in a page object against a driver that reports the page
+     * as loaded but cannot interact with any element. BasePage wraps and
+     * rethrows the failure, yet the circuit breaker has to attribute it to the
+     * page step timings recorded, or no page dependency would ever match.
+     */
+    @Test(description = "Failures rethrown by BasePage are attributed to the concrete page")
+    public void pageOfWrappedFailureMatchesStepTimings() {
+        if (!StepTimer.isEnabled()) {
+            throw new SkipException("Step timing is disabled (timing.steps.enabled=false)");
+        }
+        ProductPage productPage = new ProductPage(unclickableDriver());
+
+        StepTimer.reset(false);
+        RuntimeException failure = Assert.expectThrows(RuntimeException.class, productPage::clickAddToBag);
+        List<StepSample> samples = StepTimer.finish().getSamples();
+
+        FailureSignature signature = FailureSignature.of(failure);
+        Assert.assertEquals(signature.getLocation(), "BasePage.clickElement");
+        StepSample failedStep = samples.stream()
+                .filter(sample -> !StepSample.OK.equals(sample.getOutcome()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No failed step recorded in " + samples));
+        Assert.assertEquals(signature.getPage(), failedStep.getPage(),
+                "Failure signature and step timings should name the same page");
+        Assert.assertEquals(signature.getPage(), ProductPage.class.getSimpleName());
+    }
+
+    private static WebDriver unclickableDriver() {
+        return (WebDriver) Proxy.newProxyInstance(FailureSignatureTest.class.getClassLoader(),
+                new Class<?>[] { WebDriver.class, JavascriptExecutor.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeScript":
+                            return "complete";
+                        case "executeAsyncScript":
+                            return Boolean.TRUE;
+                        case "getCurrentUrl":
+                            return "about:blank";
+                        case "findElement":
+                            throw new ElementNotInteractableException("Element is covered by another element");
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "UnclickableDriver";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
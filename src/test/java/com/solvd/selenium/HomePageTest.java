@@ -1,5 +1,6 @@
 package com.solvd.selenium;
 
+import com.solvd.selenium.pages.ElementStates;
 import com.solvd.selenium.pages.HomePage;
 import java.util.Arrays;
 import java.util.List;
@@ -44,15 +45,17 @@ public class HomePageTest extends BaseTest {
     }
 
     private void verifyHeaderElements(HomePage homePage) {
+        ElementStates header = homePage.getHeaderElementStates();
+
         SoftAssert softAssert = new SoftAssert();
-        softAssert.assertTrue(homePage.isStoreLocatorVisible(), "Store Locator link should be visible");
-        softAssert.assertTrue(homePage.isHelpLinkVisible(), "Help link should be visible");
-        softAssert.assertTrue(homePage.isLogoVisible(), "Next logo should be visible");
-        softAssert.assertTrue(homePage.isSearchBarVisible(), "Search bar should be visible");
-        softAssert.assertTrue(homePage.isAccountIconVisible(), "Account icon should be visible");
-        softAssert.assertTrue(homePage.isFavoritesIconVisible(), "Favorites icon should be visible");
-        softAssert.assertTrue(homePage.isShoppingBagIconVisible(), "Shopping bag icon should be visible");
-        softAssert.assertTrue(homePage.isCheckoutButtonVisible(), "Checkout button should be visible");
+        softAssert.assertTrue(header.isVisible("storeLocatorLink"), "Store Locator link should be visible");
+        softAssert.assertTrue(header.isVisible("helpLink"), "Help link should be visible");
+        softAssert.assertTrue(header.isVisible("logo"), "Next logo should be visible");
+        softAssert.assertTrue(header.isVisible("searchBar"), "Search bar should be visible");
+        softAssert.assertTrue(header.isVisible("accountIcon"), "Account icon should be visible");
+        softAssert.assertTrue(header.isVisible("favoritesIcon"), "Favorites icon should be visible");
+        softAssert.assertTrue(header.isVisible("shoppingBagIcon"), "Shopping bag icon should be visible");
+        softAssert.assertTrue(header.isVisible("checkoutButton"), "Checkout button should be visible");
         softAssert.assertAll();
     }
 
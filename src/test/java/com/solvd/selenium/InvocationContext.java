@@ -0,0 +1,104 @@
+package com.solvd.selenium;
+
+import com.solvd.selenium.driver.BrowserProfile;
+import com.solvd.selenium.network.BlockedTrafficStats;
+import com.solvd.selenium.timing.CommandTrace;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of one test method invocation, from {@code @BeforeMethod} to
+ * {@code @AfterMethod}. BaseTest creates one per invocation and keeps it for
+ * the invoking thread only, so methods, instances and data-provider rows of
+ * the same class can run concurrently without sharing a browser or settings.
+ */
+public class InvocationContext {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final int id = SEQUENCE.incrementAndGet();
+    private final String testName;
+    private final String browserName;
+    private final boolean remote;
+    private final BrowserProfile profile;
+    private WebDriver session;
+    private WebDriver driver;
+    private CommandTrace commandTrace;
+    private BlockedTrafficStats blockedTrafficAtStart;
+
+    InvocationContext(String testName, String browserName, boolean remote, BrowserProfile profile) {
+        this.testName = testName;
+        this.browserName = browserName;
+        this.remote = remote;
+        this.profile = profile;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * Test name made unique per invocation, for artifact file names that must
+     * not collide between data-provider rows running at the same time.
+     */
+    public String getArtifactName() {
+        return testName + "-" + id;
+    }
+
+    public String getBrowserName() {
+        return browserName;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    public BrowserProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Plain browser session as leased from the pool or started by the factory.
+     */
+    public WebDriver getSession() {
+        return session;
+    }
+
+    void setSession(WebDriver session) {
+        this.session = session;
+    }
+
+    /**
+     * Driver handed to tests and pages, decorated with the enabled listeners.
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    void setDriver(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    CommandTrace getCommandTrace() {
+        return commandTrace;
+    }
+
+    void setCommandTrace(CommandTrace commandTrace) {
+        this.commandTrace = commandTrace;
+    }
+
+    BlockedTrafficStats getBlockedTrafficAtStart() {
+        return blockedTrafficAtStart;
+    }
+
+    void setBlockedTrafficAtStart(BlockedTrafficStats blockedTrafficAtStart) {
+        this.blockedTrafficAtStart = blockedTrafficAtStart;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s on %s (%s, %s)", testName, browserName, remote ? "remote" : "local",
+                profile.getConfigValue());
+    }
+}
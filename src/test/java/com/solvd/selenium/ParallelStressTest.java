@@ -0,0 +1,72 @@
+package com.solvd.selenium;
+
+import com.solvd.selenium.fixture.FixtureServer;
+import com.solvd.selenium.pages.ProductPage;
+import com.solvd.selenium.utils.DriverUnwrapper;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ParallelStressTest extends BaseTest {
+
+    private static final List<String> FIXTURE_CATEGORIES = List.of("women/dresses", "women/jeans", "men/jeans");
+    private static final int ROUNDS = 3;
+
+    // Sessions in use by a running invocation; a session seen twice means two tests share a browser
+    private static final Set<Object> SESSIONS_IN_USE = ConcurrentHashMap.newKeySet();
+
+    @DataProvider(name = "fixtureProducts", parallel = true)
+    public Object[][] fixtureProducts() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String category : FIXTURE_CATEGORIES) {
+                for (Map<String, Object> product : FixtureServer.getInstance().findProductsInCategory(category)) {
+                    rows.add(new Object[] { product.get("id"), product.get("title") });
+                }
+            }
+        }
+        return rows.toArray(new Object[0][]);
+    }
+
+    /**
+     * Opens every fixture product from many data-provider rows at once and
+     * checks that each invocation only ever sees its own context, browser
+     * session and page. Run with {@code mvn test -Pstress}.
+     */
+    @Test(dataProvider = "fixtureProducts", description = "Concurrent invocations keep their own browser state")
+    public void testInvocationsDoNotShareState(Method testMethod, String productId, String title) {
+        if (!FixtureServer.getInstance().isRunning()
+                || !FixtureServer.getInstance().getBaseUrl().equals(getBaseUrl())) {
+            throw new SkipException("Stress test runs against the fixture server only");
+        }
+
+        InvocationContext context = getInvocation();
+        Assert.assertEquals(context.getTestName(),
+                testMethod.getDeclaringClass().getSimpleName() + "." + testMethod.getName(),
+                "Invocation context belongs to another test");
+        Object session = DriverUnwrapper.unwrap(getDriver());
+        Assert.assertSame(session, context.getSession(), "Driver does not belong to this invocation");
+        Assert.assertTrue(SESSIONS_IN_USE.add(session), "Browser session is used by another invocation");
+        try {
+            navigateToPage("style/" + productId);
+            ProductPage productPage = new ProductPage(getDriver());
+
+            Assert.assertTrue(productPage.getCurrentUrl().endsWith("/style/" + productId),
+                    "Page of another invocation is open: " + productPage.getCurrentUrl());
+            Assert.assertTrue(productPage.getPageTitle().startsWith(String.valueOf(title)),
+                    "Unexpected product title: " + productPage.getPageTitle());
+            Assert.assertTrue(productPage.isProductNameVisible(), "Product name should be visible");
+            Assert.assertSame(getInvocation(), context, "Invocation context changed during the test");
+        } finally {
+            SESSIONS_IN_USE.remove(session);
+        }
+    }
+}
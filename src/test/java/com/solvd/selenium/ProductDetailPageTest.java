@@ -1,7 +1,7 @@
 package com.solvd.selenium;
 
-import com.solvd.selenium.pages.HomePage;
 import com.solvd.selenium.pages.CategoryPage;
+import com.solvd.selenium.pages.ElementStates;
 import com.solvd.selenium.pages.ProductPage;
 import org.testng.Assert;
 import org.testng.annotations.Optional;
@@ -27,11 +27,8 @@ public class ProductDetailPageTest extends BaseTest {
             @Optional("All Dresses") String subCategory) {
         logger.info("Starting product detail page test");
 
-        navigateToHomePage();
-        HomePage homePage = new HomePage(getDriver());
-
-        // Hover over Women category
-        CategoryPage categoryPage = homePage.hoverOverMainCategoryAndClick(category, subCategory);
+        // Open the category page directly, the menu itself is covered by NavigationMenuTest
+        CategoryPage categoryPage = navigateToCategory(category, subCategory);
         Assert.assertNotNull(categoryPage, "Category page should not be null");
 
         // Click on first product
@@ -42,16 +39,18 @@ public class ProductDetailPageTest extends BaseTest {
     }
 
     private void verifyProductDetails(ProductPage productPage) {
+        ElementStates details = productPage.getProductDetailStates();
+
         SoftAssert softAssert = new SoftAssert();
-        softAssert.assertTrue(productPage.isProductNameVisible(), "Product name should be visible");
-        softAssert.assertTrue(productPage.isProductPriceVisible(), "Product price should be visible");
-        softAssert.assertTrue(productPage.isProductDescriptionVisible(), "Product description should be visible");
-        softAssert.assertTrue(productPage.areProductImagesVisible(), "Product images should be visible");
-        softAssert.assertTrue(productPage.isSizeSelectionVisible(), "Size selection should be available");
-        softAssert.assertTrue(productPage.isColorSelectionVisible(), "Color selection should be available");
-        softAssert.assertTrue(productPage.isAddToBagButtonVisible(), "Add to Bag button should be visible");
-        softAssert.assertTrue(productPage.isFavouriteButtonVisible(), "Favourite button should be visible");
-        softAssert.assertTrue(productPage.hasReviewsSection(), "Reviews section should be visible if available");
+        softAssert.assertTrue(details.isVisible("productName"), "Product name should be visible");
+        softAssert.assertTrue(details.isVisible("productPrice"), "Product price should be visible");
+        softAssert.assertTrue(details.isVisible("productDescription"), "Product description should be visible");
+        softAssert.assertTrue(details.isVisible("productImages"), "Product images should be visible");
+        softAssert.assertTrue(details.isVisible("sizeSelector"), "Size selection should be available");
+        softAssert.assertTrue(details.isVisible("colorSelector"), "Color selection should be available");
+        softAssert.assertTrue(details.isVisible("addToBagButton"), "Add to Bag button should be visible");
+        softAssert.assertTrue(details.isVisible("favouriteButton"), "Favourite button should be visible");
+        softAssert.assertTrue(details.isVisible("reviewsSection"), "Reviews section should be visible if available");
         softAssert.assertAll();
     }
 }
\ No newline at end of file
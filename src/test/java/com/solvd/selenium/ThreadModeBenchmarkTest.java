@@ -0,0 +1,147 @@
+package com.solvd.selenium;
+
+import com.solvd.selenium.fixture.FixtureServer;
+import com.solvd.selenium.threads.ThreadMode;
+import com.solvd.selenium.threads.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ThreadModeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModeBenchmarkTest.class);
+
+    private static final int SESSIONS = 100;
+    private static final int COMMANDS_PER_SESSION = 10;
+    private static final long BROWSER_MILLIS_PER_COMMAND = 20;
+    // Virtual threads may cost some scheduling overhead, but not more than this
+    private static final double WALL_TIME_TOLERANCE = 1.25;
+
+    private final FixtureServer fixtureServer = FixtureServer.getInstance();
+    private boolean startedFixtureServer;
+
+    @BeforeClass
+    public void startFixtureServer() {
+        if (!fixtureServer.isRunning()) {
+            fixtureServer.start(0);
+            startedFixtureServer = true;
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixtureServer() {
+        if (startedFixtureServer) {
+            fixtureServer.stop();
+        }
+    }
+
+    /**
+     * Runs the same orchestration load, sessions that spend nearly all their
+     * time blocked on HTTP like tests waiting on WebDriver commands, on a
+     * platform thread per session and on a virtual thread per session. Both
+     * legs run every session at once, so they differ only in the kind of
+     * thread. Each command is a request to the fixture server followed by a
+     * pause standing in for the browser's work.
+     */
+    @Test(description = "Benchmark platform versus virtual threads for HTTP-bound orchestration")
+    public void benchmarkThreadModes() throws Exception {
+        String url = fixtureServer.getBaseUrl();
+
+        Run platformPerSession = run("Platform/session", url,
+                Threads.newPerTaskExecutor("benchmark-platform", ThreadMode.PLATFORM));
+        Run virtualPerSession = Threads.isVirtualSupported()
+                ? run("Virtual/session", url, Threads.newPerTaskExecutor("benchmark-virtual", ThreadMode.VIRTUAL))
+                : null;
+
+        logger.info("=== THREAD MODE BENCHMARK ({} sessions x {} commands, {}ms browser time each) ===",
+                SESSIONS, COMMANDS_PER_SESSION, BROWSER_MILLIS_PER_COMMAND);
+        logger.info("{}", platformPerSession);
+        logger.info("{}", virtualPerSession != null ? virtualPerSession
+                : "Virtual/session:  not available on Java " + System.getProperty("java.version"));
+        logger.info("===============================================================================");
+
+        int expectedCommands = SESSIONS * COMMANDS_PER_SESSION;
+        Assert.assertEquals(platformPerSession.commands, expectedCommands, "Platform run lost commands");
+        if (virtualPerSession == null) {
+            throw new SkipException("Virtual threads need Java 21, run with -Pjava21 to compare them");
+        }
+        Assert.assertEquals(virtualPerSession.commands, expectedCommands, "Virtual run lost commands");
+        Assert.assertTrue(virtualPerSession.wallMillis <= platformPerSession.wallMillis * WALL_TIME_TOLERANCE,
+                "Virtual threads should run the sessions about as fast as a platform thread per session");
+        Assert.assertTrue(virtualPerSession.peakPlatformThreads < platformPerSession.peakPlatformThreads,
+                "Virtual threads should need fewer platform threads than a thread per session");
+    }
+
+    private static Run run(String label, String url, ExecutorService executor)
+            throws InterruptedException, ExecutionException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        AtomicInteger commands = new AtomicInteger();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> sessions = new ArrayList<>();
+            for (int i = 0; i < SESSIONS; i++) {
+                sessions.add(executor.submit(() -> {
+                    for (int command = 0; command < COMMANDS_PER_SESSION; command++) {
+                        sendCommand(url);
+                        commands.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Run(label, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), commands.get(),
+                threads.getPeakThreadCount());
+    }
+
+    private static void sendCommand(String url) throws IOException, InterruptedException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try (InputStream body = connection.getInputStream()) {
+            body.readAllBytes();
+        }
+        Thread.sleep(BROWSER_MILLIS_PER_COMMAND);
+    }
+
+    private static class Run {
+        private final String label;
+        private final long wallMillis;
+        private final int commands;
+        private final int peakPlatformThreads;
+
+        Run(String label, long wallMillis, int commands, int peakPlatformThreads) {
+            this.label = label;
+            this.wallMillis = wallMillis;
+            this.commands = commands;
+            this.peakPlatformThreads = peakPlatformThreads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-17s %6dms, %5d commands, peak %4d platform threads", label + ":", wallMillis,
+                    commands, peakPlatformThreads);
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package com.solvd.selenium;
 
-import com.solvd.selenium.pages.CategoryPage;
-import com.solvd.selenium.pages.HomePage;
-import com.solvd.selenium.pages.ProductPage;
 import com.solvd.selenium.pages.ShoppingBagPage;
 import org.testng.Assert;
 import org.testng.annotations.Optional;
@@ -27,25 +24,8 @@ public class UpdateQuantityTest extends BaseTest {
             @Optional("2") int newQuantity) {
         logger.info("Starting update quantity test");
 
-        navigateToHomePage();
-        HomePage homePage = new HomePage(getDriver());
-
-        // Hover over Women category
-        CategoryPage categoryPage = homePage.hoverOverMainCategoryAndClick(category, subCategory);
-        Assert.assertNotNull(categoryPage, "Category page should not be null");
-
-        ProductPage productPage = categoryPage.clickFirstProduct();
-
-        // Select size and add to bag
-        productPage.selectFirstAvailableSize();
-        productPage.clickAddToBag();
-
-        // Verify confirmation
-        Assert.assertTrue(productPage.isAddToBagConfirmationVisible(),
-                "Add to bag confirmation should be visible");
-
-        // View bag fronm confirmation
-        ShoppingBagPage shoppingBagPage = productPage.clickViewBagButton();
+        // Start from a bag that already contains a product
+        ShoppingBagPage shoppingBagPage = openBagWithFirstProduct(category, subCategory);
 
         // Get initial price
         double initialPrice = shoppingBagPage.getProductPrice();